@@ -0,0 +1,91 @@
+package br.com.provaipog.todolist.benchmark;
+
+import java.beans.PropertyDescriptor;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+
+import br.com.provaipog.todolist.task.Priority;
+import br.com.provaipog.todolist.task.TaskModel;
+import br.com.provaipog.todolist.utils.Utils;
+
+/**
+ * Cópia das propriedades não nulas de um PUT /tasks/{id} típico (nome, descrição e
+ * prioridade): implementação anterior com BeanWrapper + BeanUtils x plano de MethodHandles
+ * de {@link Utils}. Executar com:
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="CopyNonNullPropertiesBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CopyNonNullPropertiesBenchmark {
+
+    private TaskModel alteracao;
+    private TaskModel task;
+
+    @Setup
+    public void setup() throws Exception {
+        task = new TaskModel();
+        task.setId(UUID.randomUUID());
+        task.setIdUser(UUID.randomUUID());
+        task.setNome("Tarefa original");
+        task.setDescricao("Descrição original");
+        task.setPrioridade(Priority.BAIXA);
+        task.setDataPrevistaConclusao(LocalDate.now().plusDays(10));
+
+        alteracao = new TaskModel();
+        alteracao.setNome("Tarefa alterada");
+        alteracao.setDescricao("Descrição alterada");
+        alteracao.setPrioridade(Priority.ALTA);
+        alteracao.setSituacao(null);
+    }
+
+    @Benchmark
+    public TaskModel beanWrapper() {
+        BeanUtils.copyProperties(alteracao, task, getNullPropertyNames(alteracao));
+        return task;
+    }
+
+    @Benchmark
+    public TaskModel methodHandles() {
+        Utils.copyNonNullProperties(alteracao, task);
+        return task;
+    }
+
+    /** Implementação anterior de Utils.getNullPropertyNames, mantida como referência. */
+    private static String[] getNullPropertyNames(Object source) {
+        final BeanWrapper src = new BeanWrapperImpl(source);
+        PropertyDescriptor[] pds = src.getPropertyDescriptors();
+        Set<String> emptyNames = new HashSet<>();
+        for (PropertyDescriptor pd : pds) {
+            Object srcValue = src.getPropertyValue(pd.getName());
+            if (srcValue == null) {
+                emptyNames.add(pd.getName());
+            }
+        }
+        String[] result = new String[emptyNames.size()];
+        return emptyNames.toArray(result);
+    }
+}
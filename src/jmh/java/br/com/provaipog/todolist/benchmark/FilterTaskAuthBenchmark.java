@@ -0,0 +1,111 @@
+package br.com.provaipog.todolist.benchmark;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import at.favre.lib.crypto.bcrypt.BCrypt;
+import br.com.provaipog.todolist.TodolistApplication;
+import br.com.provaipog.todolist.filter.CredentialCache;
+import br.com.provaipog.todolist.filter.FilterTaskAuth;
+import br.com.provaipog.todolist.filter.TokenService;
+import br.com.provaipog.todolist.user.IUserRepository;
+import br.com.provaipog.todolist.user.UserModel;
+import jakarta.servlet.FilterChain;
+
+/**
+ * Verificação de credenciais por {@link FilterTaskAuth} numa requisição a /tasks/:
+ * token Bearer, Basic já presente no {@link CredentialCache} e Basic sem cache
+ * (consulta do usuário + BCrypt custo 12). Executar com:
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="FilterTaskAuthBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterTaskAuthBenchmark {
+
+    private static final FilterChain CHAIN = (request, response) -> { };
+
+    private ConfigurableApplicationContext context;
+    private FilterTaskAuth filter;
+    private CredentialCache credentialCache;
+    private String basic;
+    private String bearer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(TodolistApplication.class)
+            .properties(
+                "spring.main.web-application-type=none",
+                "spring.datasource.url=jdbc:h2:mem:bench-auth",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN")
+            .run();
+        filter = context.getBean(FilterTaskAuth.class);
+        credentialCache = context.getBean(CredentialCache.class);
+
+        var user = new UserModel();
+        user.setUsername("bench");
+        user.setName("Bench");
+        user.setPassword(BCrypt.withDefaults().hashToString(12, "s3nha".toCharArray()));
+        user = context.getBean(IUserRepository.class).save(user);
+
+        basic = "Basic " + Base64.getEncoder().encodeToString("bench:s3nha".getBytes());
+        bearer = "Bearer " + context.getBean(TokenService.class).issue(user.getId()).token();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object bearerToken() throws Exception {
+        return authenticate(bearer);
+    }
+
+    @Benchmark
+    public Object basicCached() throws Exception {
+        return authenticate(basic);
+    }
+
+    @Benchmark
+    public Object basicUncached() throws Exception {
+        credentialCache.getCache().clear();
+        return authenticate(basic);
+    }
+
+    private Object authenticate(String authorization) throws Exception {
+        var request = new MockHttpServletRequest("GET", "/tasks/");
+        request.setServletPath("/tasks/");
+        request.addHeader("Authorization", authorization);
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, CHAIN);
+        if (response.getStatus() != 200) {
+            throw new IllegalStateException("Status " + response.getStatus());
+        }
+        return request.getAttribute("idUser");
+    }
+}
@@ -0,0 +1,324 @@
+package br.com.provaipog.todolist.benchmark;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import at.favre.lib.crypto.bcrypt.BCrypt;
+import br.com.provaipog.todolist.TodolistApplication;
+import br.com.provaipog.todolist.filter.TokenService;
+import br.com.provaipog.todolist.task.ITaskRepository;
+import br.com.provaipog.todolist.task.Priority;
+import br.com.provaipog.todolist.task.Situation;
+import br.com.provaipog.todolist.task.TaskModel;
+import br.com.provaipog.todolist.user.IUserRepository;
+import br.com.provaipog.todolist.user.UserModel;
+
+/**
+ * Teste de carga da pilha HTTP inteira: sobe a aplicação numa porta aleatória com H2 em
+ * memória já populado e dispara uma mistura de operações numa taxa fixa (modelo aberto).
+ * Cada requisição tem um horário previsto de início; a latência é medida a partir dele e
+ * não do envio, de modo que atrasos do servidor que seguram o disparo (coordinated
+ * omission) aparecem nos percentis. Executar com:
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:java -Dexec.mainClass=br.com.provaipog.todolist.benchmark.LoadTestHarness
+ * </pre>
+ *
+ * Propriedades: {@code bench.rate} (req/s), {@code bench.seconds}, {@code bench.warmup}
+ * (segundos descartados), {@code bench.users}, {@code bench.tasks} (por usuário),
+ * {@code bench.mix} (ex.: list=50,create=15,...), {@code bench.seed} e
+ * {@code bench.report-dir}. O relatório (report.txt) e um histograma HDR por operação
+ * (.hgrm, em ms) vão para {@code target/load-test}. Não depende de rede.
+ */
+public class LoadTestHarness {
+
+    private static final int RATE = Integer.getInteger("bench.rate", 50);
+    private static final int SECONDS = Integer.getInteger("bench.seconds", 30);
+    private static final int WARMUP = Integer.getInteger("bench.warmup", 10);
+    private static final int USERS = Integer.getInteger("bench.users", 10);
+    private static final int TASKS = Integer.getInteger("bench.tasks", 1000);
+    private static final String MIX = System.getProperty("bench.mix",
+        "list=50,create=15,update=15,complete=9,pending=9,signup=1");
+    private static final long SEED = Long.getLong("bench.seed", 42);
+    private static final Path REPORT_DIR = Path.of(System.getProperty("bench.report-dir", "target/load-test"));
+
+    /** Requisições que não terminam nesse prazo contam como falha, com a latência até o timeout. */
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private enum Operation {
+        SIGNUP, LIST, CREATE, UPDATE, COMPLETE, PENDING
+    }
+
+    public static void main(String[] args) throws Exception {
+        var mix = parseMix(MIX);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TodolistApplication.class)
+                .properties(
+                    "server.port=0",
+                    "spring.datasource.url=jdbc:h2:mem:bench-load",
+                    "spring.jpa.show-sql=false",
+                    "logging.level.root=WARN")
+                .run()) {
+
+            var port = context.getEnvironment().getProperty("local.server.port");
+            System.out.printf("Populando %d usuários com %d tarefas cada...%n", USERS, TASKS);
+            var users = seed(context);
+            var client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            var run = new Run(client, "http://localhost:" + port, users, mix);
+
+            System.out.printf("Carga: %d req/s por %ds (+%ds de aquecimento), mistura %s%n", RATE, SECONDS, WARMUP, MIX);
+            run.drive();
+            report(run);
+        }
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        var weights = new EnumMap<Operation, Integer>(Operation.class);
+        for (var entry : mix.split(",")) {
+            var parts = entry.split("=");
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private static List<User> seed(ConfigurableApplicationContext context) throws Exception {
+        var userRepository = context.getBean(IUserRepository.class);
+        var taskRepository = context.getBean(ITaskRepository.class);
+        var tokenService = context.getBean(TokenService.class);
+        // Um hash só para todos: o custo do BCrypt interessa na operação de cadastro, não na carga inicial
+        var hash = BCrypt.withDefaults().hashToString(12, "s3nha".toCharArray());
+
+        var users = new ArrayList<User>(USERS);
+        for (int u = 0; u < USERS; u++) {
+            var user = new UserModel();
+            user.setUsername("carga" + u);
+            user.setName("Carga " + u);
+            user.setPassword(hash);
+            user = userRepository.save(user);
+
+            var tasks = new ArrayList<TaskModel>(TASKS);
+            for (int i = 0; i < TASKS; i++) {
+                var task = new TaskModel();
+                task.setIdUser(user.getId());
+                task.setNome("Tarefa " + i);
+                task.setDescricao("Descrição " + i);
+                task.setPrioridade(Priority.values()[i % Priority.values().length]);
+                task.setSituacao(i % 2 == 0 ? Situation.ABERTA : Situation.PENDENTE);
+                task.setDataPrevistaConclusao(LocalDate.now().plusDays(1 + i % 365));
+                tasks.add(task);
+            }
+            var ids = taskRepository.saveAll(tasks).stream().map(TaskModel::getId).toArray(UUID[]::new);
+            users.add(new User(tokenService.issue(user.getId()).token(), ids));
+        }
+        return users;
+    }
+
+    private record User(String token, UUID[] taskIds) {
+    }
+
+    /** Uma execução: disparo em taxa fixa e os histogramas por operação. */
+    private static final class Run {
+
+        private final HttpClient client;
+        private final String base;
+        private final List<User> users;
+        private final Operation[] schedule;
+        private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong signups = new AtomicLong();
+        private final ConcurrentHistogram dispatchLag = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+        private long measuredNanos;
+
+        Run(HttpClient client, String base, List<User> users, Map<Operation, Integer> mix) {
+            this.client = client;
+            this.base = base;
+            this.users = users;
+            var slots = new ArrayList<Operation>();
+            mix.forEach((operation, weight) -> {
+                for (int i = 0; i < weight; i++) {
+                    slots.add(operation);
+                }
+            });
+            this.schedule = slots.toArray(Operation[]::new);
+            for (var operation : Operation.values()) {
+                stats.put(operation, new Stats());
+            }
+        }
+
+        void drive() throws InterruptedException {
+            var random = new Random(SEED);
+            long interval = TimeUnit.SECONDS.toNanos(1) / RATE;
+            long start = System.nanoTime();
+            long measureFrom = start + TimeUnit.SECONDS.toNanos(WARMUP);
+            long end = measureFrom + TimeUnit.SECONDS.toNanos(SECONDS);
+
+            for (long i = 0; ; i++) {
+                long intended = start + i * interval;
+                if (intended >= end) {
+                    break;
+                }
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                boolean measured = intended >= measureFrom;
+                if (measured) {
+                    dispatchLag.recordValue(Math.min(dispatchLag.getHighestTrackableValue(),
+                        Math.max(0, (System.nanoTime() - intended) / 1000)));
+                }
+                var operation = schedule[random.nextInt(schedule.length)];
+                send(operation, request(operation, random), intended, measured);
+            }
+            measuredNanos = end - measureFrom;
+
+            // Espera as requisições em andamento; as que estourarem o timeout viram falha
+            long deadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos() + TimeUnit.SECONDS.toNanos(5);
+            while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+        }
+
+        private void send(Operation operation, HttpRequest request, long intended, boolean measured) {
+            inFlight.incrementAndGet();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                long latency = System.nanoTime() - intended;
+                if (measured) {
+                    stats.get(operation).record(latency, response == null ? -1 : response.statusCode());
+                }
+                inFlight.decrementAndGet();
+            });
+        }
+
+        private HttpRequest request(Operation operation, Random random) {
+            var user = users.get(random.nextInt(users.size()));
+            var taskId = user.taskIds()[random.nextInt(user.taskIds().length)];
+            var json = "application/json";
+            return switch (operation) {
+                case SIGNUP -> {
+                    long n = signups.incrementAndGet();
+                    yield post("/users/", null, json,
+                        "{\"username\":\"cadastro" + SEED + "-" + n + "\",\"name\":\"Cadastro " + n + "\",\"password\":\"s3nha\"}");
+                }
+                case LIST -> builder(listPath(random), user.token()).GET().build();
+                case CREATE -> post("/tasks/", user.token(), json,
+                    "{\"nome\":\"Carga " + random.nextInt(1_000_000) + "\",\"prioridade\":\"MEDIA\","
+                        + "\"dataPrevistaConclusao\":\"" + LocalDate.now().plusDays(1 + random.nextInt(30)) + "\"}");
+                case UPDATE -> builder("/tasks/" + taskId, user.token()).header("Content-Type", json)
+                    .PUT(HttpRequest.BodyPublishers.ofString(
+                        "{\"nome\":\"Atualizada " + random.nextInt(1_000_000) + "\",\"prioridade\":\"ALTA\","
+                            + "\"dataPrevistaConclusao\":\"" + LocalDate.now().plusDays(7) + "\"}"))
+                    .build();
+                case COMPLETE -> builder("/tasks/" + taskId + "/complete", user.token())
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody()).build();
+                case PENDING -> builder("/tasks/" + taskId + "/pending", user.token())
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody()).build();
+            };
+        }
+
+        /** Listagem com um dos filtros da tela, sorteado. */
+        private static String listPath(Random random) {
+            var path = "/tasks/?size=20&sort=dataPrevistaConclusao";
+            return switch (random.nextInt(4)) {
+                case 0 -> path;
+                case 1 -> path + "&prioridade=" + Priority.values()[random.nextInt(Priority.values().length)];
+                case 2 -> path + "&situacao=" + Situation.values()[random.nextInt(Situation.values().length)];
+                default -> path + "&nome=" + (100 + random.nextInt(900));
+            };
+        }
+
+        private HttpRequest post(String path, String token, String contentType, String body) {
+            return builder(path, token).header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+        }
+
+        private HttpRequest.Builder builder(String path, String token) {
+            var builder = HttpRequest.newBuilder(URI.create(base + path)).timeout(REQUEST_TIMEOUT);
+            return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+        }
+    }
+
+    /** Latências (µs, a partir do horário previsto) e contagem por classe de status de uma operação. */
+    private static final class Stats {
+
+        private final ConcurrentHistogram latency = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+        private final AtomicLong ok = new AtomicLong();
+        private final AtomicLong clientErrors = new AtomicLong();
+        private final AtomicLong serverErrors = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+
+        void record(long latencyNanos, int status) {
+            latency.recordValue(Math.min(latency.getHighestTrackableValue(), latencyNanos / 1000));
+            if (status < 0) {
+                failures.incrementAndGet();
+            } else if (status >= 500) {
+                serverErrors.incrementAndGet();
+            } else if (status >= 400) {
+                // 400 esperado em complete/pending de tarefa que já está na situação, por exemplo
+                clientErrors.incrementAndGet();
+            } else {
+                ok.incrementAndGet();
+            }
+        }
+    }
+
+    private static void report(Run run) throws IOException {
+        Files.createDirectories(REPORT_DIR);
+        var seconds = run.measuredNanos / 1e9;
+        try (var out = new PrintStream(Files.newOutputStream(REPORT_DIR.resolve("report.txt")), true, "UTF-8")) {
+            for (var stream : List.of(System.out, out)) {
+                stream.println();
+                stream.printf("Taxa alvo %d req/s, %ds medidos, mistura %s, semente %d, %d usuários x %d tarefas, "
+                    + "%d CPUs, Java %s%n", RATE, SECONDS, MIX, SEED, USERS, TASKS,
+                    Runtime.getRuntime().availableProcessors(), Runtime.version());
+                stream.printf("%-9s %7s %8s %6s %6s %6s %6s %9s %9s %9s %9s %9s%n", "operação", "total", "req/s",
+                    "2xx", "4xx", "5xx", "falha", "p50 (ms)", "p90 (ms)", "p99 (ms)", "p99.9", "max (ms)");
+                long total = 0;
+                for (var entry : run.stats.entrySet()) {
+                    var stats = entry.getValue();
+                    var histogram = stats.latency;
+                    total += histogram.getTotalCount();
+                    stream.printf("%-9s %7d %8.1f %6d %6d %6d %6d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                        entry.getKey().name().toLowerCase(), histogram.getTotalCount(), histogram.getTotalCount() / seconds,
+                        stats.ok.get(), stats.clientErrors.get(), stats.serverErrors.get(), stats.failures.get(),
+                        ms(histogram.getValueAtPercentile(50)), ms(histogram.getValueAtPercentile(90)),
+                        ms(histogram.getValueAtPercentile(99)), ms(histogram.getValueAtPercentile(99.9)),
+                        ms(histogram.getMaxValue()));
+                }
+                stream.printf("Vazão total %.1f req/s; atraso do disparo p99 %.2f ms, max %.2f ms%n", total / seconds,
+                    ms(run.dispatchLag.getValueAtPercentile(99)), ms(run.dispatchLag.getMaxValue()));
+            }
+        }
+        for (var entry : run.stats.entrySet()) {
+            var file = REPORT_DIR.resolve(entry.getKey().name().toLowerCase() + ".hgrm");
+            try (var out = new PrintStream(Files.newOutputStream(file), true, "UTF-8")) {
+                entry.getValue().latency.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        System.out.println("Relatório em " + REPORT_DIR.toAbsolutePath());
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,99 @@
+package br.com.provaipog.todolist.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import br.com.provaipog.todolist.TodolistApplication;
+import br.com.provaipog.todolist.filter.TokenService;
+
+/**
+ * Compara a vazão (linhas/s) de {@code POST /tasks/} item a item com {@code POST /tasks/batch}
+ * em lotes de tamanhos diferentes. Executar com:
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:java -Dexec.mainClass=br.com.provaipog.todolist.benchmark.TaskBatchBenchmark
+ * </pre>
+ *
+ * Propriedades: {@code bench.rows} (linhas por medição) e {@code bench.batch-sizes} (ex.: 10,50,500).
+ */
+public class TaskBatchBenchmark {
+
+    private static final int ROWS = Integer.getInteger("bench.rows", 5000);
+    private static final int[] BATCH_SIZES = Arrays.stream(
+            System.getProperty("bench.batch-sizes", "10,50,500").split(","))
+        .mapToInt(Integer::parseInt).toArray();
+
+    public static void main(String[] args) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TodolistApplication.class)
+                .properties(
+                    "server.port=0",
+                    "spring.datasource.url=jdbc:h2:mem:bench-batch",
+                    "spring.jpa.show-sql=false",
+                    "logging.level.root=WARN")
+                .run()) {
+
+            var port = context.getEnvironment().getProperty("local.server.port");
+            var token = context.getBean(TokenService.class).issue(UUID.randomUUID()).token();
+            var client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            var base = "http://localhost:" + port + "/tasks/";
+
+            // aquecimento do JIT, do pool de conexões e dos statements
+            run(client, base, token, 1, 500);
+            for (int size : BATCH_SIZES) {
+                run(client, base, token, size, Math.max(500, size));
+            }
+
+            System.out.println();
+            System.out.printf("%-12s %8s %12s %10s%n", "modo", "lote", "linhas/s", "tempo (s)");
+            print("item a item", 1, run(client, base, token, 1, ROWS));
+            for (int size : BATCH_SIZES) {
+                print("batch", size, run(client, base, token, size, ROWS));
+            }
+        }
+    }
+
+    private static void print(String mode, int size, double seconds) {
+        System.out.printf("%-12s %8d %12.1f %10.2f%n", mode, size, ROWS / seconds, seconds);
+    }
+
+    /** Grava {@code rows} tarefas em requisições de {@code size} itens (1 = POST /tasks/) e retorna os segundos. */
+    private static double run(HttpClient client, String base, String token, int size, int rows) throws Exception {
+        long start = System.nanoTime();
+        for (int sent = 0; sent < rows; sent += size) {
+            int count = Math.min(size, rows - sent);
+            var body = size == 1 ? task(sent) : batch(sent, count);
+            var uri = URI.create(size == 1 ? base : base + "batch");
+            var request = HttpRequest.newBuilder(uri)
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+            var response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Status " + response.statusCode() + " em " + uri);
+            }
+        }
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    private static String batch(int first, int count) {
+        var json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            json.append(i == 0 ? "" : ",").append(task(first + i));
+        }
+        return json.append(']').toString();
+    }
+
+    private static String task(int i) {
+        return "{\"nome\":\"Tarefa " + i + "\",\"descricao\":\"Sincronizada " + i + "\",\"prioridade\":\"MEDIA\","
+            + "\"dataPrevistaConclusao\":\"" + LocalDate.now().plusDays(1 + i % 30) + "\"}";
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.provaipog.todolist.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import br.com.provaipog.todolist.task.Priority;
+import br.com.provaipog.todolist.task.Situation;
+import br.com.provaipog.todolist.task.TaskBatchItem;
+import br.com.provaipog.todolist.task.TaskModel;
+
+/**
+ * JSON x Smile x CBOR em páginas grandes de GET /tasks/ (codificação) e em lotes do mesmo
+ * tamanho de POST /tasks/batch (decodificação). O tamanho de cada corpo, em bytes, é
+ * impresso no início de cada combinação. Executar com:
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="TaskBinaryFormatsBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskBinaryFormatsBenchmark {
+
+    @Param({ "json", "smile", "cbor" })
+    private String formato;
+
+    @Param({ "100", "1000" })
+    private int tamanho;
+
+    private ObjectMapper objectMapper;
+    private Page<TaskModel> page;
+    private byte[] batch;
+
+    @Setup
+    public void setup() throws Exception {
+        var builder = Jackson2ObjectMapperBuilder.json();
+        if ("smile".equals(formato)) {
+            builder.factory(new SmileFactory());
+        } else if ("cbor".equals(formato)) {
+            builder.factory(new CBORFactory());
+        }
+        objectMapper = builder.build();
+
+        var tasks = new ArrayList<TaskModel>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            tasks.add(task(i));
+        }
+        page = new PageImpl<>(tasks, PageRequest.of(0, tamanho), 100_000);
+        batch = objectMapper.writeValueAsBytes(tasks);
+        System.out.printf("%n%s, %d tarefas: página com %d bytes, lote com %d bytes%n",
+            formato, tamanho, objectMapper.writeValueAsBytes(page).length, batch.length);
+    }
+
+    @Benchmark
+    public byte[] encodePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    /** Como POST /tasks/batch: a lista em nós JSON e cada item lido separadamente. */
+    @Benchmark
+    public List<TaskBatchItem> decodeBatch() throws Exception {
+        var itens = objectMapper.readValue(batch, new TypeReference<List<JsonNode>>() { });
+        var lote = new ArrayList<TaskBatchItem>(itens.size());
+        for (var item : itens) {
+            lote.add(objectMapper.treeToValue(item, TaskBatchItem.class));
+        }
+        return lote;
+    }
+
+    private static TaskModel task(int i) throws Exception {
+        var task = new TaskModel();
+        task.setId(UUID.randomUUID());
+        task.setIdUser(UUID.randomUUID());
+        task.setNome("Tarefa " + i);
+        task.setDescricao("Descrição da tarefa " + i + " com um texto de tamanho típico");
+        task.setPrioridade(Priority.values()[i % Priority.values().length]);
+        task.setSituacao(Situation.values()[i % Situation.values().length]);
+        task.setDataPrevistaConclusao(LocalDate.now().plusDays(1 + i % 30));
+        task.setDataCriacao(LocalDateTime.now());
+        return task;
+    }
+}
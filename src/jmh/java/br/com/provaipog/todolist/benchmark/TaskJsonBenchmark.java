@@ -0,0 +1,110 @@
+package br.com.provaipog.todolist.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.provaipog.todolist.task.Priority;
+import br.com.provaipog.todolist.task.Situation;
+import br.com.provaipog.todolist.task.TaskBatchItem;
+import br.com.provaipog.todolist.task.TaskModel;
+
+/**
+ * Serialização e desserialização JSON de {@link TaskModel}, de uma página de 20 tarefas
+ * (resposta de GET /tasks/) e de um lote de 20 tarefas (corpo de POST /tasks/batch),
+ * com um ObjectMapper configurado como o do Spring Boot. Executar com:
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="TaskJsonBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskJsonBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ObjectMapper objectMapper;
+    private TaskModel task;
+    private Page<TaskModel> page;
+    private String taskJson;
+    private String batchJson;
+
+    @Setup
+    public void setup() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        var tasks = new ArrayList<TaskModel>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            tasks.add(task(i));
+        }
+        task = tasks.get(0);
+        page = new PageImpl<>(tasks, PageRequest.of(0, PAGE_SIZE), 1000);
+        taskJson = objectMapper.writeValueAsString(task);
+        batchJson = objectMapper.writeValueAsString(tasks);
+    }
+
+    @Benchmark
+    public String serializeTask() throws Exception {
+        return objectMapper.writeValueAsString(task);
+    }
+
+    @Benchmark
+    public TaskModel deserializeTask() throws Exception {
+        return objectMapper.readValue(taskJson, TaskModel.class);
+    }
+
+    @Benchmark
+    public String serializePage() throws Exception {
+        return objectMapper.writeValueAsString(page);
+    }
+
+    /** Como POST /tasks/batch: a lista em nós JSON e cada item lido separadamente. */
+    @Benchmark
+    public List<TaskBatchItem> deserializeBatch() throws Exception {
+        var itens = objectMapper.readValue(batchJson, new TypeReference<List<JsonNode>>() { });
+        var lote = new ArrayList<TaskBatchItem>(itens.size());
+        for (var item : itens) {
+            lote.add(objectMapper.treeToValue(item, TaskBatchItem.class));
+        }
+        return lote;
+    }
+
+    private static TaskModel task(int i) throws Exception {
+        var task = new TaskModel();
+        task.setId(UUID.randomUUID());
+        task.setIdUser(UUID.randomUUID());
+        task.setNome("Tarefa " + i);
+        task.setDescricao("Descrição da tarefa " + i + " com um texto de tamanho típico");
+        task.setPrioridade(Priority.values()[i % Priority.values().length]);
+        task.setSituacao(Situation.values()[i % Situation.values().length]);
+        task.setDataPrevistaConclusao(LocalDate.now().plusDays(1 + i % 30));
+        task.setDataCriacao(LocalDateTime.now());
+        return task;
+    }
+}
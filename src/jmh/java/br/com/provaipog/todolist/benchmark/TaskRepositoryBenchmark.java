@@ -0,0 +1,146 @@
+package br.com.provaipog.todolist.benchmark;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.provaipog.todolist.TodolistApplication;
+import br.com.provaipog.todolist.task.ITaskRepository;
+import br.com.provaipog.todolist.task.Priority;
+import br.com.provaipog.todolist.task.Situation;
+import br.com.provaipog.todolist.task.TaskModel;
+import br.com.provaipog.todolist.task.TaskSpecifications;
+import br.com.provaipog.todolist.task.TaskTrigramIndexer;
+
+/**
+ * {@link ITaskRepository#findByIdUserWithFilters} (página de 20 com total) num H2 em
+ * memória com {@code rows} tarefas do usuário: sem filtro, por nome (índice de trigramas)
+ * e por prioridade + situação; e a variante Slice, sem o COUNT(*). Executar com:
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="TaskRepositoryBenchmark"
+ * </pre>
+ *
+ * A carga de 100k tarefas (e do índice de trigramas) leva cerca de um minuto por fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskRepositoryBenchmark {
+
+    private static final String INSERT = "INSERT INTO tb_tasks (id, nome, descricao, prioridade, situacao, "
+        + "data_prevista_conclusao, data_criacao, id_user) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Param({ "1000", "10000", "100000" })
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private ITaskRepository taskRepository;
+    private UUID idUser;
+    private Pageable byDueDate;
+    private Pageable byName;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(TodolistApplication.class)
+            .properties(
+                "spring.main.web-application-type=none",
+                "spring.datasource.url=jdbc:h2:mem:bench-repository-" + rows,
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN")
+            .run();
+        taskRepository = context.getBean(ITaskRepository.class);
+        idUser = UUID.randomUUID();
+        seed(context.getBean(JdbcTemplate.class));
+        // Tabela de trigramas vazia: reconstrói o índice a partir de tb_tasks
+        context.getBean(TaskTrigramIndexer.class).reindexarSeVazio();
+
+        byDueDate = PageRequest.of(0, 20, TaskSpecifications.ordenacao(Sort.Direction.ASC, "dataPrevistaConclusao"));
+        byName = PageRequest.of(0, 20, TaskSpecifications.ordenacao(Sort.Direction.ASC, "nome"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<TaskModel> unfiltered() {
+        return taskRepository.findByIdUserWithFilters(idUser, null, null, null, byDueDate);
+    }
+
+    /** O que GET /tasks/ executa de fato: sem COUNT(*), que vem do TaskCountCache. */
+    @Benchmark
+    public Slice<TaskModel> unfilteredSlice() {
+        return taskRepository.findSliceByIdUserWithFilters(idUser, null, null, null, byDueDate);
+    }
+
+    @Benchmark
+    public Page<TaskModel> byNameContains() {
+        return taskRepository.findByIdUserWithFilters(idUser, "1234", null, null, byName);
+    }
+
+    @Benchmark
+    public Page<TaskModel> byPriorityAndSituation() {
+        return taskRepository.findByIdUserWithFilters(idUser, null, Priority.ALTA, Situation.PENDENTE, byDueDate);
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        var hoje = LocalDate.now();
+        var agora = LocalDateTime.now();
+        for (int first = 0; first < rows; first += 1000) {
+            final int offset = first;
+            final int count = Math.min(1000, rows - first);
+            jdbcTemplate.batchUpdate(INSERT, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int j) throws SQLException {
+                    int i = offset + j;
+                    ps.setObject(1, UUID.randomUUID());
+                    ps.setString(2, "Tarefa " + i);
+                    ps.setString(3, "Descrição " + i);
+                    ps.setString(4, Priority.values()[i % Priority.values().length].name());
+                    ps.setString(5, Situation.values()[i % Situation.values().length].name());
+                    ps.setDate(6, Date.valueOf(hoje.plusDays(i % 365)));
+                    ps.setTimestamp(7, Timestamp.valueOf(agora.plusNanos(i * 1000L)));
+                    ps.setObject(8, idUser);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return count;
+                }
+            });
+        }
+    }
+}
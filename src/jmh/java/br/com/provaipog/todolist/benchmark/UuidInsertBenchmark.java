@@ -0,0 +1,137 @@
+package br.com.provaipog.todolist.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.provaipog.todolist.utils.UuidV7;
+
+/**
+ * Inserção com chave primária UUID v4 (aleatória) x v7 ({@link UuidV7}) numa tabela com as
+ * colunas de tb_tasks, num H2 em arquivo já com {@code rows} linhas: mede linhas/s em lotes
+ * de 1000 e imprime o tempo da carga inicial e o espaço em disco da tabela e da chave
+ * primária depois dela e no fim. Executar com:
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="UuidInsertBenchmark"
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="UuidInsertBenchmark -p rows=5000000"
+ * </pre>
+ *
+ * A carga de 1M de linhas leva dezenas de segundos por fork (mais com v4).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UuidInsertBenchmark {
+
+    private static final int LOTE = 1000;
+    private static final String INSERT = "INSERT INTO tb_tasks (id, nome, descricao, prioridade, situacao, "
+        + "data_prevista_conclusao, data_criacao, id_user) VALUES (?, ?, ?, 'ALTA', 'ABERTA', CURRENT_DATE, "
+        + "CURRENT_TIMESTAMP, ?)";
+
+    @Param({ "v4", "v7" })
+    public String tipo;
+
+    @Param({ "1000000" })
+    public int rows;
+
+    private Path diretorio;
+    private Connection conexao;
+    private PreparedStatement insert;
+    private Supplier<UUID> ids;
+    private UUID idUser;
+    private long linhas;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        ids = "v7".equals(tipo) ? UuidV7::gerar : UUID::randomUUID;
+        idUser = UUID.randomUUID();
+        diretorio = Files.createTempDirectory("bench-uuid-");
+        conexao = DriverManager.getConnection("jdbc:h2:file:" + diretorio.resolve("bench"), "sa", "");
+        conexao.setAutoCommit(false);
+        try (var statement = conexao.createStatement()) {
+            statement.execute("CREATE TABLE tb_tasks (id UUID PRIMARY KEY, nome VARCHAR(100) NOT NULL, "
+                + "descricao VARCHAR(500), prioridade VARCHAR(255) NOT NULL, situacao VARCHAR(255) NOT NULL, "
+                + "data_prevista_conclusao DATE NOT NULL, data_criacao TIMESTAMP, id_user UUID)");
+        }
+        insert = conexao.prepareStatement(INSERT);
+
+        long inicio = System.nanoTime();
+        while (linhas < rows) {
+            inserirLote();
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        System.out.printf("%n[%s] carga de %,d linhas: %.1f s (%,.0f linhas/s)%n", tipo, rows, segundos, rows / segundos);
+        imprimirEspaco("depois da carga");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        imprimirEspaco("no fim");
+        conexao.close();
+        try (var arquivos = Files.walk(diretorio)) {
+            arquivos.sorted(Comparator.reverseOrder()).forEach(arquivo -> {
+                try {
+                    Files.delete(arquivo);
+                } catch (IOException e) {
+                    arquivo.toFile().deleteOnExit();
+                }
+            });
+        }
+    }
+
+    /** Um lote de 1000 linhas numa transação, como o POST /tasks/batch. */
+    @Benchmark
+    @OperationsPerInvocation(LOTE)
+    public void inserirLote() throws SQLException {
+        for (int i = 0; i < LOTE; i++) {
+            insert.setObject(1, ids.get());
+            insert.setString(2, "Tarefa " + linhas);
+            insert.setString(3, "Descrição " + linhas);
+            insert.setObject(4, idUser);
+            insert.addBatch();
+            linhas++;
+        }
+        insert.executeBatch();
+        conexao.commit();
+    }
+
+    private void imprimirEspaco(String momento) throws SQLException {
+        try (var statement = conexao.createStatement()) {
+            statement.execute("CHECKPOINT SYNC");
+            try (var rs = statement.executeQuery("SELECT DISK_SPACE_USED('TB_TASKS')")) {
+                rs.next();
+                System.out.printf("[%s] %s: %,d linhas, tabela + chave primária %,d KB, arquivo %,d KB%n", tipo,
+                    momento, linhas, rs.getLong(1) / 1024, Files.size(diretorio.resolve("bench.mv.db")) / 1024);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
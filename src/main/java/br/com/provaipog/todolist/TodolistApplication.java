@@ -2,8 +2,10 @@ package br.com.provaipog.todolist;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class TodolistApplication {
 
 	public static void main(String[] args) {
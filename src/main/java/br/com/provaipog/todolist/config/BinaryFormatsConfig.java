@@ -0,0 +1,38 @@
+package br.com.provaipog.todolist.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Aceita e responde {@code application/x-jackson-smile} e {@code application/cbor}
+ * conforme os cabeçalhos {@code Accept} e {@code Content-Type}. Os ObjectMappers saem do
+ * mesmo builder do Spring Boot que o JSON usa (datas, módulos e propriedades iguais).
+ *
+ * <p>Os conversores entram no fim da lista: sem {@code Accept} ou com {@code *}{@code /*}
+ * a resposta continua em JSON.
+ */
+@Configuration
+public class BinaryFormatsConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+            this.objectMapperBuilder.getObject().factory(new SmileFactory()).build()));
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+            this.objectMapperBuilder.getObject().factory(new CBORFactory()).build()));
+    }
+}
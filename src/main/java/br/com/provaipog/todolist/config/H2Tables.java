@@ -0,0 +1,153 @@
+package br.com.provaipog.todolist.config;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Cópia de schema e de linhas entre bancos H2 via JDBC, usada pela réplica local
+ * ({@link ReplicaReplicator}) e pelos shards ({@link ShardRebalancer}).
+ */
+final class H2Tables {
+
+    private static final int BATCH_SIZE = 500;
+
+    private H2Tables() {
+    }
+
+    /** Cria no destino as tabelas e índices do origem ({@code SCRIPT NODATA}). */
+    static void copiarSchema(Connection origem, Connection destino) throws SQLException {
+        var comandos = new ArrayList<String>();
+        try (var statement = origem.createStatement();
+                var script = statement.executeQuery("SCRIPT NODATA NOPASSWORDS NOSETTINGS")) {
+            while (script.next()) {
+                comandos.add(script.getString(1));
+            }
+        }
+        try (var statement = destino.createStatement()) {
+            for (var comando : comandos) {
+                // O usuário do destino já existe: é o da URL de conexão
+                if (!comando.startsWith("CREATE USER")) {
+                    statement.execute(comando);
+                }
+            }
+        }
+    }
+
+    /** Tabelas do schema PUBLIC; com {@code coluna}, só as que a têm. */
+    static List<String> tabelas(Connection conexao, String coluna) throws SQLException {
+        var tabelas = new ArrayList<String>();
+        try (var rs = conexao.getMetaData().getTables(null, "PUBLIC", "%", new String[] { "TABLE" })) {
+            while (rs.next()) {
+                tabelas.add(rs.getString("TABLE_NAME"));
+            }
+        }
+        if (coluna != null) {
+            var comColuna = new ArrayList<String>();
+            for (var tabela : tabelas) {
+                try (var rs = conexao.getMetaData().getColumns(null, "PUBLIC", tabela, coluna)) {
+                    if (rs.next()) {
+                        comColuna.add(tabela);
+                    }
+                }
+            }
+            return comColuna;
+        }
+        return tabelas;
+    }
+
+    /**
+     * Insere no destino as linhas do origem que satisfazem {@code filtro} (ex.:
+     * {@code id_user = ?}). Com {@code ignorarExistentes}, linhas cuja chave primária já
+     * existe no destino são mantidas como estão.
+     */
+    static long copiarLinhas(Connection origem, Connection destino, String tabela, String filtro,
+            boolean ignorarExistentes, Object... parametros) throws SQLException {
+        var where = filtro == null ? "" : " WHERE " + filtro;
+        var existentes = new HashSet<List<Object>>();
+        var chave = new ArrayList<String>();
+        if (ignorarExistentes) {
+            try (var rs = destino.getMetaData().getPrimaryKeys(null, "PUBLIC", tabela)) {
+                while (rs.next()) {
+                    chave.add(rs.getString("COLUMN_NAME"));
+                }
+            }
+            var colunasChave = new StringJoiner(", ");
+            chave.forEach(coluna -> colunasChave.add("\"" + coluna + "\""));
+            try (var select = destino.prepareStatement("SELECT " + colunasChave + " FROM \"" + tabela + "\"" + where)) {
+                definir(select, parametros);
+                try (var rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        existentes.add(linha(rs, chave.size()));
+                    }
+                }
+            }
+        }
+
+        var linhas = 0L;
+        try (var select = origem.prepareStatement("SELECT * FROM \"" + tabela + "\"" + where)) {
+            definir(select, parametros);
+            try (var rs = select.executeQuery()) {
+                var meta = rs.getMetaData();
+                var colunas = new StringJoiner(", ");
+                var valores = new StringJoiner(", ");
+                for (int i = 1; i <= meta.getColumnCount(); i++) {
+                    colunas.add("\"" + meta.getColumnName(i) + "\"");
+                    valores.add("?");
+                }
+                var sql = "INSERT INTO \"" + tabela + "\" (" + colunas + ") VALUES (" + valores + ")";
+                try (var insert = destino.prepareStatement(sql)) {
+                    while (rs.next()) {
+                        if (!chave.isEmpty() && existentes.contains(valoresDaChave(rs, chave))) {
+                            continue;
+                        }
+                        for (int i = 1; i <= meta.getColumnCount(); i++) {
+                            insert.setObject(i, rs.getObject(i));
+                        }
+                        insert.addBatch();
+                        if (++linhas % BATCH_SIZE == 0) {
+                            insert.executeBatch();
+                        }
+                    }
+                    insert.executeBatch();
+                }
+            }
+        }
+        return linhas;
+    }
+
+    static int apagar(Connection conexao, String tabela, String filtro, Object... parametros) throws SQLException {
+        var where = filtro == null ? "" : " WHERE " + filtro;
+        try (var delete = conexao.prepareStatement("DELETE FROM \"" + tabela + "\"" + where)) {
+            definir(delete, parametros);
+            return delete.executeUpdate();
+        }
+    }
+
+    private static void definir(PreparedStatement statement, Object... parametros) throws SQLException {
+        for (int i = 0; i < parametros.length; i++) {
+            statement.setObject(i + 1, parametros[i]);
+        }
+    }
+
+    private static List<Object> linha(ResultSet rs, int colunas) throws SQLException {
+        var valores = new ArrayList<Object>(colunas);
+        for (int i = 1; i <= colunas; i++) {
+            valores.add(rs.getObject(i));
+        }
+        return valores;
+    }
+
+    private static List<Object> valoresDaChave(ResultSet rs, List<String> chave) throws SQLException {
+        var valores = new ArrayList<Object>(chave.size());
+        for (var coluna : chave) {
+            valores.add(rs.getObject(coluna));
+        }
+        return valores;
+    }
+}
@@ -0,0 +1,140 @@
+package br.com.provaipog.todolist.config;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.BaseStream;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import br.com.provaipog.todolist.filter.CredentialCache;
+import br.com.provaipog.todolist.task.TaskCache;
+import br.com.provaipog.todolist.task.TaskCountCache;
+import br.com.provaipog.todolist.utils.BoundedTtlCache;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Métricas da aplicação além das do Actuator (HTTP, Hikari, Hibernate e tempo por método
+ * de repositório em {@code spring.data.repository.invocations}): caches em memória e
+ * linhas devolvidas por método de repositório.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder cacheMetrics(TaskCache taskCache, TaskCountCache taskCountCache, CredentialCache credentialCache) {
+        return registry -> {
+            bindCache(registry, "tasks", taskCache.getCache());
+            bindCache(registry, "task-counts", taskCountCache.getCache());
+            bindCache(registry, "credentials", credentialCache.getCache());
+        };
+    }
+
+    // Mesmos nomes dos caches do Spring (cache.gets, cache.evictions, cache.size)
+    private static void bindCache(MeterRegistry registry, String name, BoundedTtlCache<?, ?> cache) {
+        var tags = List.of(Tag.of("cache", name));
+        FunctionCounter.builder("cache.gets", cache, BoundedTtlCache::getHits)
+            .tags(tags).tag("result", "hit").register(registry);
+        FunctionCounter.builder("cache.gets", cache, BoundedTtlCache::getMisses)
+            .tags(tags).tag("result", "miss").register(registry);
+        FunctionCounter.builder("cache.evictions", cache, BoundedTtlCache::getEvictions)
+            .tags(tags).register(registry);
+        Gauge.builder("cache.size", cache, BoundedTtlCache::size)
+            .tags(tags).register(registry);
+    }
+
+    /**
+     * Registra em todos os repositórios um interceptor que mede quantas linhas cada método
+     * devolveu. Estático e com o registry resolvido só nas chamadas, para não
+     * antecipar a criação de beans durante o registro dos post-processors.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryRowsMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                        (proxy, information) -> proxy.addAdvice(
+                            new RowsInterceptor(meterRegistry, information.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static final class RowsInterceptor implements MethodInterceptor {
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final String repository;
+        // Um summary por método, registrado na primeira chamada e não a cada uma
+        private final Map<Method, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+        private RowsInterceptor(ObjectProvider<MeterRegistry> meterRegistry, String repository) {
+            this.meterRegistry = meterRegistry;
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            var result = invocation.proceed();
+            long rows = rows(result, invocation.getMethod().getReturnType());
+            if (rows >= 0) {
+                var summary = summary(invocation.getMethod());
+                if (summary != null) {
+                    summary.record(rows);
+                }
+            }
+            return result;
+        }
+
+        private DistributionSummary summary(Method method) {
+            var summary = this.summaries.get(method);
+            if (summary != null) {
+                return summary;
+            }
+            var registry = this.meterRegistry.getIfAvailable();
+            if (registry == null) {
+                return null;
+            }
+            return this.summaries.computeIfAbsent(method, m -> DistributionSummary.builder("todolist.repository.rows")
+                .description("Linhas devolvidas por método de repositório")
+                .baseUnit("rows")
+                .tag("repository", this.repository)
+                .tag("method", m.getName())
+                .register(registry));
+        }
+
+        /** -1 para retornos que não são linhas (contagens, void, streams ainda não consumidos). */
+        private static long rows(Object result, Class<?> returnType) {
+            if (result instanceof Collection<?> collection) {
+                return collection.size();
+            }
+            if (result instanceof Slice<?> slice) {
+                return slice.getNumberOfElements();
+            }
+            if (result instanceof Optional<?> optional) {
+                return optional.isPresent() ? 1 : 0;
+            }
+            if (returnType.isPrimitive() || Number.class.isAssignableFrom(returnType)
+                    || returnType == Boolean.class || BaseStream.class.isAssignableFrom(returnType)) {
+                return -1;
+            }
+            return result == null ? 0 : 1;
+        }
+    }
+}
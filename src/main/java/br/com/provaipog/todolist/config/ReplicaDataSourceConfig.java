@@ -0,0 +1,74 @@
+package br.com.provaipog.todolist.config;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import br.com.provaipog.todolist.utils.ReplicaRouting;
+
+/**
+ * Com {@code todolist.datasource.replica.enabled=true}, o DataSource da aplicação passa a
+ * ter dois pools: o primário ({@code spring.datasource.*}) e a réplica de leitura
+ * ({@code todolist.datasource.replica.url}), escolhidos por {@link ReplicaRouting}.
+ *
+ * <p>O {@link LazyConnectionDataSourceProxy} adia a escolha até o primeiro comando SQL:
+ * o Hibernate pede a conexão no início da transação, antes de o Spring marcá-la como
+ * readOnly.
+ */
+@Configuration
+@ConditionalOnProperty(name = "todolist.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        var dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+            @Value("${todolist.datasource.replica.url}") String url) {
+        var dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(url).build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRouting replicaRouting() {
+        return new ReplicaRouting();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica, ReplicaRouting replicaRouting) {
+        var roteador = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return replicaRouting.destino();
+            }
+        };
+        roteador.setTargetDataSources(Map.<Object, Object>of(
+            ReplicaRouting.Destino.PRIMARIO, primary,
+            ReplicaRouting.Destino.REPLICA, replica));
+        roteador.setDefaultTargetDataSource(primary);
+        roteador.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(roteador);
+    }
+}
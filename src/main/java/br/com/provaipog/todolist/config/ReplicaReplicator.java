@@ -0,0 +1,80 @@
+package br.com.provaipog.todolist.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.provaipog.todolist.utils.ReplicaRouting;
+
+/**
+ * Mantém a réplica local (outro H2) igual ao primário: na primeira execução copia o
+ * schema ({@code SCRIPT NODATA}) e, a cada {@code todolist.datasource.replica.sync-interval}
+ * em que houve escrita, substitui o conteúdo de todas as tabelas numa única transação da
+ * réplica (as leituras nela continuam vendo a cópia anterior até o commit).
+ *
+ * <p>É um substituto da replicação do banco para desenvolvimento e testes: a cópia é
+ * completa, então o custo cresce com o tamanho do banco.
+ */
+@Component
+@ConditionalOnProperty(name = "todolist.datasource.replica.enabled", havingValue = "true")
+public class ReplicaReplicator {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaReplicator.class);
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @Autowired
+    private ReplicaRouting replicaRouting;
+
+    private boolean schemaCriado;
+
+    @Scheduled(fixedDelayString = "${todolist.datasource.replica.sync-interval:500ms}")
+    public synchronized void sincronizar() throws SQLException {
+        // Lido antes da cópia: escritas confirmadas depois disso podem ou não entrar nesta
+        // cópia, e por isso só contam como replicadas na próxima
+        var escritas = this.replicaRouting.escritas();
+        if (this.schemaCriado && escritas == this.replicaRouting.replicadas()) {
+            return;
+        }
+        var inicio = System.nanoTime();
+        try (var origem = this.primary.getConnection(); var destino = this.replica.getConnection()) {
+            if (!this.schemaCriado) {
+                H2Tables.copiarSchema(origem, destino);
+                this.schemaCriado = true;
+            }
+            origem.setAutoCommit(false);
+            origem.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            destino.setAutoCommit(false);
+            try {
+                var linhas = 0L;
+                for (var tabela : H2Tables.tabelas(origem, null)) {
+                    H2Tables.apagar(destino, tabela, null);
+                    linhas += H2Tables.copiarLinhas(origem, destino, tabela, null, false);
+                }
+                destino.commit();
+                origem.commit();
+                log.debug("Réplica sincronizada: {} linhas em {} ms", linhas, (System.nanoTime() - inicio) / 1_000_000);
+            } catch (SQLException e) {
+                destino.rollback();
+                origem.rollback();
+                throw e;
+            }
+        }
+        this.replicaRouting.replicado(escritas);
+    }
+}
@@ -0,0 +1,116 @@
+package br.com.provaipog.todolist.config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import br.com.provaipog.todolist.utils.ShardRouting;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Com {@code todolist.datasource.shards.enabled=true}, as tarefas de cada usuário ficam
+ * no shard escolhido por {@link ShardRouting}. O shard-0 é o banco de
+ * {@code spring.datasource.*} (também guarda tb_users); os demais vêm de
+ * {@code todolist.datasource.shards.urls}, na ordem: novos shards entram no fim da lista,
+ * seguidos do rebalanceamento por JMX ({@link ShardRebalancer}).
+ *
+ * <p>Uma transação usa um só shard, escolhido no primeiro comando SQL (por isso o
+ * {@link LazyConnectionDataSourceProxy}). Não combina com a réplica de leitura.
+ */
+@Configuration
+@ConditionalOnProperty(name = "todolist.datasource.shards.enabled", havingValue = "true")
+public class ShardDataSourceConfig {
+
+    @Bean
+    public ShardRouting shardRouting(@Value("${todolist.datasource.shards.urls:}") List<String> urls) {
+        var shards = new ArrayList<String>();
+        for (int i = 0; i <= urls.size(); i++) {
+            shards.add("shard-" + i);
+        }
+        return new ShardRouting(shards);
+    }
+
+    @Bean
+    public ShardDataSource shardDataSource(DataSourceProperties properties, Environment environment,
+            @Value("${todolist.datasource.shards.urls:}") List<String> urls,
+            @Value("${todolist.datasource.replica.enabled:false}") boolean replica,
+            ShardRouting shardRouting, ObjectProvider<MeterRegistry> meterRegistry) {
+        if (replica) {
+            throw new IllegalStateException("Shards e réplica de leitura não podem ser usados juntos");
+        }
+        var pools = new LinkedHashMap<String, HikariDataSource>();
+        for (var shard : shardRouting.shards()) {
+            int indice = pools.size();
+            var builder = properties.initializeDataSourceBuilder().type(HikariDataSource.class);
+            if (indice > 0) {
+                builder.url(urls.get(indice - 1));
+            }
+            var pool = builder.build();
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+            pool.setPoolName(shard);
+            meterRegistry.ifAvailable(registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            pools.put(shard, pool);
+        }
+        return new ShardDataSource(pools, shardRouting);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("shardDataSource") DataSource shardDataSource) {
+        return new LazyConnectionDataSourceProxy(shardDataSource);
+    }
+
+    /** Um pool Hikari por shard; fecha todos com o contexto. */
+    public static class ShardDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+        private final Map<String, HikariDataSource> pools;
+        private final ShardRouting shardRouting;
+
+        ShardDataSource(Map<String, HikariDataSource> pools, ShardRouting shardRouting) {
+            this.pools = pools;
+            this.shardRouting = shardRouting;
+            setTargetDataSources(new LinkedHashMap<>(pools));
+            setDefaultTargetDataSource(pools.get(shardRouting.principal()));
+            afterPropertiesSet();
+        }
+
+        /** Pool do shard, sem roteamento (ferramentas que copiam entre shards). */
+        public DataSource pool(String shard) {
+            var pool = this.pools.get(shard);
+            if (pool == null) {
+                throw new IllegalArgumentException("Shard inexistente: " + shard);
+            }
+            return pool;
+        }
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return this.shardRouting.atual();
+        }
+
+        @Override
+        public void close() {
+            this.pools.values().forEach(HikariDataSource::close);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package br.com.provaipog.todolist.config;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.jmx.annotation.JmxEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import br.com.provaipog.todolist.config.ShardDataSourceConfig.ShardDataSource;
+import br.com.provaipog.todolist.task.TaskStatsService;
+import br.com.provaipog.todolist.utils.ShardRouting;
+
+/**
+ * Ferramenta dos shards, exposta só por JMX (endpoint {@code shards}, nunca por HTTP: a
+ * aplicação não tem autenticação fora de /tasks): distribuicao mostra usuários e tarefas por
+ * shard e quantos usuários estão fora do shard que o anel indica; rebalancear move esses
+ * usuários para o shard certo (ex.: depois de acrescentar um shard).
+ *
+ * <p>Mover um usuário copia as linhas dele (toda tabela com id_user) para o destino,
+ * mantendo as que já existirem lá, recalcula os contadores no destino e só então apaga as
+ * linhas do origem. Interrompida, a operação pode ser repetida. Deve rodar com o tráfego
+ * do usuário parado: as escritas dele já vão para o destino, mas as leituras não veem as
+ * tarefas ainda não copiadas.
+ *
+ * <p>Na inicialização, cria nos shards vazios o schema do shard-0 (gerado pelo Hibernate).
+ */
+@Component
+@JmxEndpoint(id = "shards")
+@ConditionalOnProperty(name = "todolist.datasource.shards.enabled", havingValue = "true")
+public class ShardRebalancer implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    // Derivadas de tb_tasks: recalculadas no destino em vez de copiadas
+    private static final Set<String> CONTADORES = Set.of("TB_TASK_STATS", "TB_TASK_STATS_VENCIMENTOS");
+
+    @Autowired
+    private ShardRouting shardRouting;
+
+    @Autowired
+    private ShardDataSource shardDataSource;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try (var origem = this.shardDataSource.pool(this.shardRouting.principal()).getConnection()) {
+            for (var shard : this.shardRouting.shards()) {
+                try (var destino = this.shardDataSource.pool(shard).getConnection()) {
+                    if (!H2Tables.tabelas(destino, null).contains("TB_TASKS")) {
+                        H2Tables.copiarSchema(origem, destino);
+                        log.info("Schema criado no {}", shard);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Falha ao criar o schema dos shards", e);
+        }
+    }
+
+    @ReadOperation
+    public Map<String, Object> distribuicao() throws SQLException {
+        var resultado = new LinkedHashMap<String, Object>();
+        for (var shard : this.shardRouting.shards()) {
+            var usuarios = usuarios(shard);
+            long tarefas;
+            try (var conexao = this.shardDataSource.pool(shard).getConnection();
+                    var statement = conexao.createStatement();
+                    var rs = statement.executeQuery("SELECT COUNT(*) FROM tb_tasks")) {
+                rs.next();
+                tarefas = rs.getLong(1);
+            }
+            var foraDoLugar = usuarios.stream().filter(id -> !this.shardRouting.shard(id).equals(shard)).count();
+            resultado.put(shard, Map.of("usuarios", usuarios.size(), "tarefas", tarefas, "foraDoLugar", foraDoLugar));
+        }
+        return resultado;
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebalancear() throws SQLException {
+        long inicio = System.nanoTime();
+        int movidos = 0;
+        for (var shard : this.shardRouting.shards()) {
+            for (var idUser : usuarios(shard)) {
+                var destino = this.shardRouting.shard(idUser);
+                if (!destino.equals(shard)) {
+                    mover(idUser, shard, destino);
+                    movidos++;
+                }
+            }
+        }
+        log.info("Rebalanceamento: {} usuários movidos em {} ms", movidos, (System.nanoTime() - inicio) / 1_000_000);
+        return Map.of("movidos", movidos, "shards", distribuicao());
+    }
+
+    /** Move as linhas do usuário de um shard para outro (ver a descrição da classe). */
+    public void mover(UUID idUser, String origem, String destino) throws SQLException {
+        try (var de = this.shardDataSource.pool(origem).getConnection();
+                var para = this.shardDataSource.pool(destino).getConnection()) {
+            var tabelas = H2Tables.tabelas(de, "ID_USER");
+            para.setAutoCommit(false);
+            try {
+                for (var tabela : tabelas) {
+                    if (!CONTADORES.contains(tabela)) {
+                        H2Tables.copiarLinhas(de, para, tabela, "id_user = ?", true, idUser);
+                    }
+                }
+                para.commit();
+            } catch (SQLException e) {
+                para.rollback();
+                throw e;
+            }
+            this.shardRouting.noShard(destino, () -> {
+                this.taskStatsService.recalcularUsuario(idUser);
+                return null;
+            });
+            de.setAutoCommit(false);
+            try {
+                for (var tabela : tabelas) {
+                    H2Tables.apagar(de, tabela, "id_user = ?", idUser);
+                }
+                de.commit();
+            } catch (SQLException e) {
+                de.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private Set<UUID> usuarios(String shard) throws SQLException {
+        var usuarios = new LinkedHashSet<UUID>();
+        try (var conexao = this.shardDataSource.pool(shard).getConnection()) {
+            for (var tabela : H2Tables.tabelas(conexao, "ID_USER")) {
+                try (var statement = conexao.createStatement();
+                        var rs = statement.executeQuery("SELECT DISTINCT id_user FROM \"" + tabela + "\" WHERE id_user IS NOT NULL")) {
+                    while (rs.next()) {
+                        usuarios.add(rs.getObject(1, UUID.class));
+                    }
+                }
+            }
+        }
+        return usuarios;
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.provaipog.todolist.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.UUID;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.com.provaipog.todolist.user.UserModel;
+import br.com.provaipog.todolist.utils.BoundedTtlCache;
+
+/**
+ * Cache das credenciais Basic já verificadas com BCrypt.
+ * A chave é um HMAC-SHA256 do header Authorization com uma chave aleatória gerada
+ * na inicialização, de modo que a senha em texto claro nunca fica em memória.
+ * Alterações e remoções de usuários invalidam as entradas deles
+ * (ver {@link CredentialCacheInvalidator}).
+ */
+@Component
+public class CredentialCache {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final BoundedTtlCache<String, CachedCredential> cache;
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> mac;
+
+    public CredentialCache(
+            @Value("${todolist.auth.cache.max-size:10000}") int maxSize,
+            @Value("${todolist.auth.cache.ttl:5m}") Duration ttl) {
+        this.cache = new BoundedTtlCache<>(maxSize, ttl);
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.mac = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public CachedCredential get(String authorization) {
+        return this.cache.get(digest(authorization));
+    }
+
+    public void put(String authorization, UserModel user) {
+        this.cache.put(digest(authorization), new CachedCredential(user.getId()));
+    }
+
+    public void invalidateUser(UUID idUser) {
+        this.cache.removeIf((digest, credential) -> credential.idUser().equals(idUser));
+    }
+
+    public BoundedTtlCache<String, CachedCredential> getCache() {
+        return cache;
+    }
+
+    private String digest(String authorization) {
+        byte[] raw = this.mac.get().doFinal(authorization.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(raw);
+    }
+
+    private Mac newMac() {
+        try {
+            var instance = Mac.getInstance(ALGORITHM);
+            instance.init(this.key);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC indisponível", e);
+        }
+    }
+
+    // Só o id: a senha já foi verificada e o hash não precisa ficar em memória
+    public record CachedCredential(UUID idUser) {
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.provaipog.todolist.filter;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import br.com.provaipog.todolist.user.UserModel;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Entity listener de {@link UserModel}: qualquer alteração ou remoção do usuário
+ * invalida as credenciais dele no {@link CredentialCache}.
+ * O Hibernate cria uma instância própria de cada listener (só com as dependências
+ * injetadas), por isso o cache fica no bean injetado e não no listener. Em contextos
+ * sem o cache (ex.: testes de repositório) não há o que invalidar.
+ */
+public class CredentialCacheInvalidator {
+
+    @Autowired
+    private ObjectProvider<CredentialCache> credentialCache;
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(UserModel user) {
+        this.credentialCache.ifAvailable(cache -> cache.invalidateUser(user.getId()));
+    }
+}
@@ -7,8 +7,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import at.favre.lib.crypto.bcrypt.BCrypt;
 import br.com.provaipog.todolist.user.IUserRepository;
+import br.com.provaipog.todolist.user.PasswordHasher;
+import br.com.provaipog.todolist.utils.ReplicaRouting;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,6 +21,15 @@ public class FilterTaskAuth extends OncePerRequestFilter {
     @Autowired
     private IUserRepository userRepository;
 
+    @Autowired
+    private CredentialCache credentialCache;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -29,11 +39,31 @@ public class FilterTaskAuth extends OncePerRequestFilter {
 
                     if (servletPath.startsWith("/tasks/") || servletPath.equals("/tasks")) {
                         var authorization = request.getHeader("Authorization");
+
+                        // Token de sessão emitido por POST /users/auth: só valida a assinatura
+                        if (authorization != null && authorization.startsWith("Bearer ")) {
+                            var idUser = this.tokenService.verify(authorization.substring("Bearer ".length()).trim());
+                            if (idUser == null) {
+                                response.sendError(401);
+                                return;
+                            }
+                            request.setAttribute("idUser", idUser);
+                            filterChain.doFilter(request, response);
+                            return;
+                        }
                         
                         if (authorization == null || !authorization.startsWith("Basic")) {
                             response.sendError(401);
                             return;
                         }
+
+                        // Credencial já verificada recentemente: evita a consulta e o BCrypt
+                        var cached = this.credentialCache.get(authorization);
+                        if (cached != null) {
+                            request.setAttribute("idUser", cached.idUser());
+                            filterChain.doFilter(request, response);
+                            return;
+                        }
                 
                         var authEncoded = authorization.substring("Basic".length()).trim();
         
@@ -46,12 +76,13 @@ public class FilterTaskAuth extends OncePerRequestFilter {
                         String password = creadencials[1];
         
         
-                        var user = this.userRepository.findByUsername(username);
+                        // Credenciais sempre do primário: um cadastro recente pode ainda não estar na réplica
+                        var user = ReplicaRouting.noPrimario(() -> this.userRepository.findByUsername(username));
                         if(user == null) {
                             response.sendError(401);
                         } else {
-                            var passwordVerify = BCrypt.verifyer().verify(password.toCharArray(), user.getPassword());
-                            if (passwordVerify.verified) {
+                            if (this.passwordHasher.verify(password, user.getPassword())) {
+                                this.credentialCache.put(authorization, user);
                                 request.setAttribute("idUser", user.getId());
                                 filterChain.doFilter(request, response);
                             } else {
@@ -65,4 +96,4 @@ public class FilterTaskAuth extends OncePerRequestFilter {
 
   
 }
-;
\ No newline at end of file
+;
@@ -0,0 +1,98 @@
+package br.com.provaipog.todolist.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emite e valida tokens de sessão assinados com HMAC-SHA256.
+ * Formato: base64url(idUser:expiraEm) + "." + base64url(assinatura).
+ * A validação não consulta o banco: basta conferir a assinatura e a expiração.
+ */
+@Component
+public class TokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final ThreadLocal<Mac> mac;
+
+    public TokenService(
+            @Value("${todolist.auth.token.secret:}") String secret,
+            @Value("${todolist.auth.token.ttl:1h}") Duration ttl) {
+        byte[] secretBytes;
+        if (secret == null || secret.isBlank()) {
+            // Sem segredo configurado os tokens valem apenas para esta instância
+            secretBytes = new byte[32];
+            new SecureRandom().nextBytes(secretBytes);
+        } else {
+            secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(secretBytes, ALGORITHM);
+        this.ttl = ttl;
+        this.mac = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public IssuedToken issue(UUID idUser) {
+        var expiresAt = Instant.now().plus(this.ttl).getEpochSecond();
+        var payload = ENCODER.encodeToString((idUser + ":" + expiresAt).getBytes(StandardCharsets.UTF_8));
+        var token = payload + "." + ENCODER.encodeToString(sign(payload));
+        return new IssuedToken(token, Instant.ofEpochSecond(expiresAt));
+    }
+
+    /**
+     * Retorna o id do usuário do token ou {@code null} se o token for inválido ou estiver expirado.
+     */
+    public UUID verify(String token) {
+        int separator = token.indexOf('.');
+        if (separator <= 0 || separator == token.length() - 1) {
+            return null;
+        }
+        var payload = token.substring(0, separator);
+        try {
+            byte[] signature = DECODER.decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                return null;
+            }
+
+            var claims = new String(DECODER.decode(payload), StandardCharsets.UTF_8).split(":");
+            if (claims.length != 2 || Long.parseLong(claims[1]) < Instant.now().getEpochSecond()) {
+                return null;
+            }
+            return UUID.fromString(claims[0]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(String payload) {
+        return this.mac.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac newMac() {
+        try {
+            var instance = Mac.getInstance(ALGORITHM);
+            instance.init(this.key);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC indisponível", e);
+        }
+    }
+
+    public record IssuedToken(String token, Instant expiresAt) {
+    }
+}
@@ -1,26 +1,161 @@
 package br.com.provaipog.todolist.task;
 
+import java.util.Collection;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.QueryHint;
 import java.util.List;
 
-public interface ITaskRepository extends JpaRepository<TaskModel, UUID> {
-    List<TaskModel> findByIdUser(UUID idUser);
-    
-    @Query("SELECT t FROM tb_tasks t WHERE t.idUser = :idUser " +
+/*
+ * Consultas declaradas aqui rodam em transação readOnly (com réplica ativa, vão para ela);
+ * save/delete e os fragmentos Impl mantêm a configuração das próprias implementações.
+ */
+@Transactional(readOnly = true)
+public interface ITaskRepository extends JpaRepository<TaskModel, UUID>, JpaSpecificationExecutor<TaskModel>,
+        TaskSituacaoRepository, TaskCamposRepository {
+    String FILTROS = "FROM tb_tasks t WHERE t.idUser = :idUser " +
            "AND (:nome IS NULL OR LOWER(t.nome) LIKE LOWER(CONCAT('%', :nome, '%'))) " +
            "AND (:prioridade IS NULL OR t.prioridade = :prioridade) " +
-           "AND (:situacao IS NULL OR t.situacao = :situacao)")
-    Page<TaskModel> findByIdUserWithFilters(
+           "AND (:situacao IS NULL OR t.situacao = :situacao)";
+
+    /*
+     * Quando o termo tem trigramas (ver TaskTrigrams.doFiltro) as candidatas vêm do índice
+     * de trigramas do usuário: só tarefas que têm todos os trigramas do termo, rechecadas
+     * pelo mesmo LIKE. O IN fica fora de qualquer OR para o H2 usá-lo como busca pela
+     * chave primária em vez de filtrar todas as tarefas do usuário; pelo mesmo motivo a
+     * ordenação perde o idUser à frente (ver paraTrigramas).
+     */
+    String FILTROS_TRIGRAMAS = "FROM tb_tasks t WHERE t.id IN (SELECT g.taskId FROM tb_task_trigrams g " +
+           "WHERE g.trigram IN :trigramas AND g.idUser = :idUser " +
+           "GROUP BY g.taskId HAVING COUNT(g.trigram) = :qtdTrigramas) " +
+           "AND t.idUser = :idUser " +
+           "AND LOWER(t.nome) LIKE LOWER(CONCAT('%', :nome, '%')) " +
+           "AND (:prioridade IS NULL OR t.prioridade = :prioridade) " +
+           "AND (:situacao IS NULL OR t.situacao = :situacao)";
+
+    List<TaskModel> findByIdUser(UUID idUser);
+
+    /**
+     * Todas as tarefas do usuário em ordem de criação, lidas do banco aos poucos
+     * (fetch size) e sem snapshot para dirty checking. Precisa de transação aberta
+     * enquanto o stream é consumido.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM tb_tasks t WHERE t.idUser = :idUser ORDER BY t.idUser, t.dataCriacao, t.id")
+    Stream<TaskModel> streamByIdUser(@Param("idUser") UUID idUser);
+
+    default Page<TaskModel> findByIdUserWithFilters(UUID idUser, String nome, Priority prioridade,
+            Situation situacao, Pageable pageable) {
+        var trigramas = TaskTrigrams.doFiltro(nome);
+        return trigramas.isEmpty()
+            ? buscarComFiltros(idUser, nome, prioridade, situacao, pageable)
+            : buscarPorTrigramas(idUser, nome, trigramas, trigramas.size(), prioridade, situacao,
+                paraTrigramas(pageable));
+    }
+
+    /**
+     * Mesma consulta sem o COUNT(*): busca tamanho + 1 linhas para saber se há próxima página.
+     */
+    default Slice<TaskModel> findSliceByIdUserWithFilters(UUID idUser, String nome, Priority prioridade,
+            Situation situacao, Pageable pageable) {
+        var trigramas = TaskTrigrams.doFiltro(nome);
+        return trigramas.isEmpty()
+            ? buscarSliceComFiltros(idUser, nome, prioridade, situacao, pageable)
+            : buscarSlicePorTrigramas(idUser, nome, trigramas, trigramas.size(), prioridade, situacao,
+                paraTrigramas(pageable));
+    }
+
+    default long countByIdUserWithFilters(UUID idUser, String nome, Priority prioridade, Situation situacao) {
+        var trigramas = TaskTrigrams.doFiltro(nome);
+        return trigramas.isEmpty()
+            ? contarComFiltros(idUser, nome, prioridade, situacao)
+            : contarPorTrigramas(idUser, nome, trigramas, trigramas.size(), prioridade, situacao);
+    }
+
+    @Query("SELECT t " + FILTROS)
+    Page<TaskModel> buscarComFiltros(
         @Param("idUser") UUID idUser,
         @Param("nome") String nome,
         @Param("prioridade") Priority prioridade,
         @Param("situacao") Situation situacao,
         Pageable pageable
     );
+
+    @Query("SELECT t " + FILTROS)
+    Slice<TaskModel> buscarSliceComFiltros(
+        @Param("idUser") UUID idUser,
+        @Param("nome") String nome,
+        @Param("prioridade") Priority prioridade,
+        @Param("situacao") Situation situacao,
+        Pageable pageable
+    );
+
+    @Query("SELECT COUNT(t) " + FILTROS)
+    long contarComFiltros(
+        @Param("idUser") UUID idUser,
+        @Param("nome") String nome,
+        @Param("prioridade") Priority prioridade,
+        @Param("situacao") Situation situacao
+    );
+
+    @Query("SELECT t " + FILTROS_TRIGRAMAS)
+    Page<TaskModel> buscarPorTrigramas(
+        @Param("idUser") UUID idUser,
+        @Param("nome") String nome,
+        @Param("trigramas") Collection<String> trigramas,
+        @Param("qtdTrigramas") long qtdTrigramas,
+        @Param("prioridade") Priority prioridade,
+        @Param("situacao") Situation situacao,
+        Pageable pageable
+    );
+
+    @Query("SELECT t " + FILTROS_TRIGRAMAS)
+    Slice<TaskModel> buscarSlicePorTrigramas(
+        @Param("idUser") UUID idUser,
+        @Param("nome") String nome,
+        @Param("trigramas") Collection<String> trigramas,
+        @Param("qtdTrigramas") long qtdTrigramas,
+        @Param("prioridade") Priority prioridade,
+        @Param("situacao") Situation situacao,
+        Pageable pageable
+    );
+
+    @Query("SELECT COUNT(t) " + FILTROS_TRIGRAMAS)
+    long contarPorTrigramas(
+        @Param("idUser") UUID idUser,
+        @Param("nome") String nome,
+        @Param("trigramas") Collection<String> trigramas,
+        @Param("qtdTrigramas") long qtdTrigramas,
+        @Param("prioridade") Priority prioridade,
+        @Param("situacao") Situation situacao
+    );
+
+    /**
+     * Remove o idUser (constante na consulta) da ordenação. Com ele à frente o H2 prefere
+     * percorrer o índice (id_user, campo, id) já ordenado, filtrando todas as tarefas do
+     * usuário; sem ele, busca só as candidatas do índice de trigramas e ordena em memória.
+     */
+    private static Pageable paraTrigramas(Pageable pageable) {
+        var ordens = pageable.getSort().filter(ordem -> !"idUser".equals(ordem.getProperty())).toList();
+        var sort = Sort.by(ordens);
+        return pageable.isPaged() ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort)
+            : Pageable.unpaged(sort);
+    }
 }
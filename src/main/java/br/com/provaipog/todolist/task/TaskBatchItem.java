@@ -0,0 +1,34 @@
+package br.com.provaipog.todolist.task;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+
+import lombok.Data;
+
+/**
+ * Item de POST/PATCH /tasks/batch. Ao contrário de {@link TaskModel}, não tem setters com
+ * validação nem valores padrão: um campo ausente fica nulo, e cada item é validado depois
+ * por {@link TaskBatchService}, que informa o erro de cada um.
+ */
+@Data
+public class TaskBatchItem {
+
+    private UUID id;
+
+    @JsonAlias({"name"})
+    private String nome;
+
+    @JsonAlias({"description"})
+    private String descricao;
+
+    @JsonAlias({"priority"})
+    private Priority prioridade;
+
+    @JsonAlias({"situation"})
+    private Situation situacao;
+
+    @JsonAlias({"expectedCompletionDate", "dueDate"})
+    private LocalDate dataPrevistaConclusao;
+}
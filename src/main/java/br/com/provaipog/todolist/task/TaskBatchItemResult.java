@@ -0,0 +1,23 @@
+package br.com.provaipog.todolist.task;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Resultado de um item de POST/PATCH /tasks/batch, na posição (indice) em que veio no lote.
+ */
+@Data
+@AllArgsConstructor
+public class TaskBatchItemResult {
+    private int indice;
+    private UUID id;
+    private int status;
+    private String mensagem;
+
+    public static boolean temErros(List<TaskBatchItemResult> resultados) {
+        return resultados.stream().anyMatch(resultado -> resultado.getStatus() >= 400);
+    }
+}
@@ -0,0 +1,348 @@
+package br.com.provaipog.todolist.task;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.provaipog.todolist.utils.UuidV7;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Criação e alteração de tarefas em lote. Cada item chega como um nó JSON e é lido como
+ * {@link TaskBatchItem} separadamente, para que um item malformado ou inválido vire o erro
+ * daquele item e não da requisição. O lote inteiro é validado antes de qualquer escrita e
+ * gravado numa única transação.
+ *
+ * <p>A gravação é feita por JDBC, como na importação, e não passa pelos entity listeners
+ * de {@link TaskModel}, que escreveriam tarefa a tarefa. A cada bloco de
+ * {@code todolist.tasks.batch.chunk-size} tarefas vão ao banco um batch de INSERTs ou
+ * UPDATEs em tb_tasks, um batch de trigramas e um MERGE de contadores por usuário e data.
+ * O trabalho dos listeners em memória (TaskCache e TaskOverdueDetector) é feito aqui. Os
+ * ids (UUIDv7) são gerados em memória e já saem no resultado de cada item.
+ */
+@Service
+public class TaskBatchService {
+
+    private static final String INSERT = "INSERT INTO tb_tasks (id, nome, descricao, prioridade, situacao, "
+        + "data_prevista_conclusao, data_criacao, id_user) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    // A situação só muda pelos endpoints próprios e o dono e a data de criação não mudam
+    private static final String UPDATE = "UPDATE tb_tasks SET nome = ?, descricao = ?, prioridade = ?, "
+        + "data_prevista_conclusao = ? WHERE id = ? AND id_user = ?";
+
+    @Autowired
+    private ITaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskTrigramIndexer taskTrigramIndexer;
+
+    @Autowired
+    private TaskStatsUpdater taskStatsUpdater;
+
+    @Autowired
+    private TaskOverdueDetector taskOverdueDetector;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    @Autowired
+    private TaskOwnerLookup taskOwnerLookup;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${todolist.tasks.batch.max-size:500}")
+    private int maxSize;
+
+    @Value("${todolist.tasks.batch.chunk-size:50}")
+    private int chunkSize;
+
+    /**
+     * Cria as tarefas do lote para o usuário. Se algum item for inválido nada é gravado
+     * e só os itens com erro são retornados.
+     */
+    @Transactional
+    public List<TaskBatchItemResult> criar(List<JsonNode> itens, UUID idUser) {
+        validarTamanho(itens);
+
+        var tarefas = new ArrayList<TaskModel>(itens.size());
+        var erros = new ArrayList<TaskBatchItemResult>();
+        for (int i = 0; i < itens.size(); i++) {
+            String mensagem;
+            try {
+                var item = ler(itens.get(i));
+                // O id nunca vem do item: é gerado abaixo
+                var task = item == null ? null : TaskModel.de(item);
+                mensagem = validarCriacao(task);
+                tarefas.add(task);
+            } catch (IllegalArgumentException e) {
+                mensagem = e.getMessage();
+            }
+            if (mensagem != null) {
+                erros.add(new TaskBatchItemResult(i, null, HttpStatus.BAD_REQUEST.value(), mensagem));
+            }
+        }
+        if (!erros.isEmpty()) {
+            return erros;
+        }
+
+        var agora = LocalDateTime.now();
+        for (var task : tarefas) {
+            task.setId(UuidV7.gerar());
+            task.setIdUser(idUser);
+            task.setDataCriacao(agora);
+        }
+        for (int inicio = 0; inicio < tarefas.size(); inicio += this.chunkSize) {
+            inserir(tarefas.subList(inicio, Math.min(inicio + this.chunkSize, tarefas.size())));
+        }
+
+        var resultados = new ArrayList<TaskBatchItemResult>(tarefas.size());
+        for (int i = 0; i < tarefas.size(); i++) {
+            resultados.add(new TaskBatchItemResult(i, tarefas.get(i).getId(), HttpStatus.CREATED.value(), null));
+        }
+        return resultados;
+    }
+
+    /**
+     * Grava tarefas novas, já com id, dono e data de criação, num batch de INSERTs e faz o
+     * trabalho dos listeners em lote. Roda na transação de quem chama (lote ou importação).
+     */
+    void inserir(List<TaskModel> tarefas) {
+        this.jdbcTemplate.batchUpdate(INSERT, new Insercao(tarefas));
+        this.taskTrigramIndexer.indexar(tarefas);
+        this.taskStatsUpdater.registrar(tarefas);
+        tarefas.forEach(this.taskOverdueDetector::registrar);
+    }
+
+    /**
+     * Aplica os campos não nulos de cada item à tarefa com o mesmo id (como no PUT).
+     * Todas as tarefas são carregadas numa consulta; se algum item for inválido nada
+     * é gravado e só os itens com erro são retornados.
+     */
+    @Transactional
+    public List<TaskBatchItemResult> atualizar(List<JsonNode> itens, UUID idUser) {
+        validarTamanho(itens);
+
+        var alteracoes = new ArrayList<TaskBatchItem>(itens.size());
+        var malformados = new HashMap<Integer, String>();
+        for (int i = 0; i < itens.size(); i++) {
+            try {
+                alteracoes.add(ler(itens.get(i)));
+            } catch (IllegalArgumentException e) {
+                alteracoes.add(null);
+                malformados.put(i, e.getMessage());
+            }
+        }
+
+        var ids = alteracoes.stream().filter(Objects::nonNull).map(TaskBatchItem::getId).filter(Objects::nonNull).toList();
+        Map<UUID, TaskModel> existentes = this.taskRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(TaskModel::getId, Function.identity()));
+        var foraDoShard = this.taskOwnerLookup.donosEmOutrosShards(
+            ids.stream().filter(id -> !existentes.containsKey(id)).collect(Collectors.toSet()));
+
+        var erros = new ArrayList<TaskBatchItemResult>();
+        var vistos = new HashSet<UUID>();
+        for (int i = 0; i < alteracoes.size(); i++) {
+            var alteracao = alteracoes.get(i);
+            var id = alteracao == null ? null : alteracao.getId();
+            var task = id == null ? null : existentes.get(id);
+            var erro = malformados.containsKey(i)
+                ? new TaskBatchItemResult(i, null, HttpStatus.BAD_REQUEST.value(), malformados.get(i))
+                : validarAlteracao(i, alteracao, task, id == null ? null : foraDoShard.get(id), idUser);
+            if (erro == null && !vistos.add(alteracao.getId())) {
+                erro = new TaskBatchItemResult(i, alteracao.getId(), HttpStatus.BAD_REQUEST.value(),
+                    "Tarefa repetida no lote");
+            }
+            if (erro != null) {
+                erros.add(erro);
+            }
+        }
+        if (!erros.isEmpty()) {
+            return erros;
+        }
+
+        var anteriores = new ArrayList<TaskModel>(alteracoes.size());
+        var alteradas = new ArrayList<TaskModel>(alteracoes.size());
+        var resultados = new ArrayList<TaskBatchItemResult>(alteracoes.size());
+        for (int i = 0; i < alteracoes.size(); i++) {
+            var alteracao = alteracoes.get(i);
+            var anterior = existentes.get(alteracao.getId());
+            // A alteração vai numa cópia: as lidas não mudam, então o flush não gera UPDATE nem chama os listeners
+            var alterada = anterior.copia();
+            alterada.aplicar(alteracao);
+            anteriores.add(anterior);
+            alteradas.add(alterada);
+            resultados.add(new TaskBatchItemResult(i, alterada.getId(), HttpStatus.OK.value(), null));
+        }
+        for (int inicio = 0; inicio < alteradas.size(); inicio += this.chunkSize) {
+            int fim = Math.min(inicio + this.chunkSize, alteradas.size());
+            alterar(anteriores.subList(inicio, fim), alteradas.subList(inicio, fim));
+        }
+        return resultados;
+    }
+
+    /**
+     * Grava as alterações num batch de UPDATEs e faz o trabalho dos listeners em lote, com a
+     * diferença entre o estado lido ({@code anteriores}) e o novo de cada tarefa.
+     */
+    private void alterar(List<TaskModel> anteriores, List<TaskModel> alteradas) {
+        this.jdbcTemplate.batchUpdate(UPDATE, alteradas, alteradas.size(), (ps, task) -> {
+            ps.setString(1, task.getNome());
+            ps.setString(2, task.getDescricao());
+            ps.setString(3, task.getPrioridade().name());
+            ps.setDate(4, Date.valueOf(task.getDataPrevistaConclusao()));
+            ps.setObject(5, task.getId());
+            ps.setObject(6, task.getIdUser());
+        });
+        var renomeadas = new ArrayList<TaskModel>();
+        for (int i = 0; i < alteradas.size(); i++) {
+            if (!Objects.equals(anteriores.get(i).getNome(), alteradas.get(i).getNome())) {
+                renomeadas.add(alteradas.get(i));
+            }
+        }
+        this.taskTrigramIndexer.substituir(renomeadas);
+        this.taskStatsUpdater.aplicar(anteriores.stream().map(TaskStatsUpdater.Contagem::de).toList(),
+            alteradas.stream().map(TaskStatsUpdater.Contagem::de).toList());
+        for (var task : alteradas) {
+            this.taskCache.invalidate(task.getId());
+            this.taskOverdueDetector.registrar(task);
+        }
+    }
+
+    private void validarTamanho(List<JsonNode> lote) {
+        if (lote == null || lote.isEmpty() || lote.size() > this.maxSize) {
+            throw new IllegalArgumentException("O lote deve ter entre 1 e " + this.maxSize + " tarefas");
+        }
+    }
+
+    /** Regras da criação de uma tarefa; retorna a mensagem de erro ou null se válida. */
+    String validarCriacao(TaskModel task) {
+        if (task == null) {
+            return "Tarefa vazia";
+        }
+        var violacoes = this.validator.validate(task);
+        if (!violacoes.isEmpty()) {
+            return violacoes.stream().map(ConstraintViolation::getMessage).sorted()
+                .collect(Collectors.joining("; "));
+        }
+        if (task.getNome().length() > 100) {
+            return "O campo nome deve conter no máximo 100 caracteres";
+        }
+        if (task.getDataPrevistaConclusao().isBefore(LocalDate.now())) {
+            return "A data prevista de conclusão não pode ser anterior à data atual";
+        }
+        if (task.getDescricao() != null && task.getDescricao().length() > 500) {
+            return "O campo descrição deve conter no máximo 500 caracteres";
+        }
+        return null;
+    }
+
+    /** Item do lote (null se vier nulo); IllegalArgumentException com a mensagem se não puder ser lido. */
+    private TaskBatchItem ler(JsonNode no) {
+        if (no == null || no.isNull()) {
+            return null;
+        }
+        if (!no.isObject()) {
+            throw new IllegalArgumentException("O item deve ser um objeto JSON");
+        }
+        try {
+            return this.objectMapper.treeToValue(no, TaskBatchItem.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(TaskImportService.mensagem(e));
+        }
+    }
+
+    // donoEmOutroShard: dono de uma tarefa que não está no shard do usuário (ver TaskOwnerLookup)
+    private static TaskBatchItemResult validarAlteracao(int indice, TaskBatchItem alteracao, TaskModel task,
+            UUID donoEmOutroShard, UUID idUser) {
+        if (alteracao == null || alteracao.getId() == null) {
+            return new TaskBatchItemResult(indice, null, HttpStatus.BAD_REQUEST.value(), "O id da tarefa é obrigatório");
+        }
+        if (task == null && (donoEmOutroShard == null || donoEmOutroShard.equals(idUser))) {
+            return new TaskBatchItemResult(indice, alteracao.getId(), HttpStatus.NOT_FOUND.value(), "Tarefa não encontrada");
+        }
+        if (task == null || !task.getIdUser().equals(idUser)) {
+            return new TaskBatchItemResult(indice, alteracao.getId(), HttpStatus.FORBIDDEN.value(),
+                "Usuário não tem permissão para alterar essa tarefa");
+        }
+        if (alteracao.getNome() != null && alteracao.getNome().isBlank()) {
+            return new TaskBatchItemResult(indice, alteracao.getId(), HttpStatus.BAD_REQUEST.value(),
+                "O campo nome é obrigatório");
+        }
+        if (alteracao.getNome() != null && alteracao.getNome().length() > 100) {
+            return new TaskBatchItemResult(indice, alteracao.getId(), HttpStatus.BAD_REQUEST.value(),
+                "O campo nome deve conter no máximo 100 caracteres");
+        }
+        if (alteracao.getDataPrevistaConclusao() != null
+                && alteracao.getDataPrevistaConclusao().isBefore(LocalDate.now())) {
+            return new TaskBatchItemResult(indice, alteracao.getId(), HttpStatus.BAD_REQUEST.value(),
+                "A data prevista de conclusão não pode ser anterior à data atual");
+        }
+        if (alteracao.getSituacao() != null && alteracao.getSituacao() != task.getSituacao()) {
+            return new TaskBatchItemResult(indice, alteracao.getId(), HttpStatus.BAD_REQUEST.value(),
+                "A situação não pode ser alterada diretamente. Use os endpoints específicos (/complete ou /pending)");
+        }
+        if (alteracao.getDescricao() != null && alteracao.getDescricao().length() > 500) {
+            return new TaskBatchItemResult(indice, alteracao.getId(), HttpStatus.BAD_REQUEST.value(),
+                "O campo descrição deve conter no máximo 500 caracteres");
+        }
+        return null;
+    }
+
+    private static final class Insercao implements BatchPreparedStatementSetter {
+
+        private final List<TaskModel> tarefas;
+
+        private Insercao(List<TaskModel> tarefas) {
+            this.tarefas = tarefas;
+        }
+
+        @Override
+        public void setValues(PreparedStatement ps, int i) throws SQLException {
+            var task = tarefas.get(i);
+            ps.setObject(1, task.getId());
+            ps.setString(2, task.getNome());
+            ps.setString(3, task.getDescricao());
+            ps.setString(4, task.getPrioridade().name());
+            ps.setString(5, task.getSituacao().name());
+            ps.setDate(6, Date.valueOf(task.getDataPrevistaConclusao()));
+            ps.setTimestamp(7, Timestamp.valueOf(task.getDataCriacao()));
+            ps.setObject(8, task.getIdUser());
+        }
+
+        @Override
+        public int getBatchSize() {
+            return tarefas.size();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.provaipog.todolist.task;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.com.provaipog.todolist.utils.AfterCommit;
+import br.com.provaipog.todolist.utils.BoundedTtlCache;
+import br.com.provaipog.todolist.utils.VersionStripes;
+
+/**
+ * Cache de leitura das tarefas buscadas por id, por (tarefa, usuário da requisição).
+ * Guarda cópias desanexadas do EntityManager e devolve uma nova cópia a cada acerto,
+ * de modo que quem altera a tarefa retornada nunca altera o cache.
+ * Toda escrita da tarefa incrementa a versão dela depois do commit (ver
+ * {@link TaskCacheInvalidator}), o que torna inalcançáveis as cópias lidas antes
+ * da escrita (ver {@link VersionStripes}).
+ */
+@Component
+public class TaskCache {
+
+    private final BoundedTtlCache<TaskKey, TaskModel> cache;
+    private final VersionStripes versions = new VersionStripes(4096);
+
+    public TaskCache(
+            @Value("${todolist.tasks.cache.max-size:10000}") int maxSize,
+            @Value("${todolist.tasks.cache.ttl:5m}") Duration ttl) {
+        this.cache = new BoundedTtlCache<>(maxSize, ttl);
+    }
+
+    /**
+     * Tarefa pelo id, consultando o banco só na falta. Retorna null quando não existe
+     * (ausências não ficam em cache).
+     */
+    public TaskModel buscar(UUID id, UUID idUser, Supplier<Optional<TaskModel>> loader) {
+        // A versão é capturada antes da consulta: se uma escrita terminar no meio, a cópia já nasce obsoleta
+        var key = new TaskKey(id, idUser, this.versions.current(id));
+        var cached = this.cache.get(key);
+        if (cached != null) {
+            return cached.copia();
+        }
+        var task = loader.get().orElse(null);
+        if (task != null) {
+            this.cache.put(key, task.copia());
+        }
+        return task;
+    }
+
+    /** Versão atual da tarefa; só aumenta, a cada escrita dela (também serve de ETag). */
+    public long versao(UUID id) {
+        return this.versions.current(id);
+    }
+
+    public void invalidate(UUID id) {
+        AfterCommit.run(() -> this.versions.bump(id));
+    }
+
+    public BoundedTtlCache<?, ?> getCache() {
+        return cache;
+    }
+
+    private record TaskKey(UUID id, UUID idUser, long version) {
+    }
+}
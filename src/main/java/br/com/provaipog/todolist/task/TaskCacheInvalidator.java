@@ -0,0 +1,26 @@
+package br.com.provaipog.todolist.task;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Entity listener de {@link TaskModel}: toda inserção, alteração ou remoção
+ * invalida a tarefa no {@link TaskCache} depois do commit.
+ * Como em CredentialCacheInvalidator, o estado fica no bean injetado.
+ */
+public class TaskCacheInvalidator {
+
+    @Autowired
+    private ObjectProvider<TaskCache> taskCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onTaskChanged(TaskModel task) {
+        this.taskCache.ifAvailable(cache -> cache.invalidate(task.getId()));
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.provaipog.todolist.task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Campos de tarefa que podem ser pedidos em {@code fields=} na listagem, com os
+ * mesmos aliases em inglês aceitos no corpo das requisições.
+ */
+public final class TaskCampos {
+
+    private static final Map<String, String> CAMPOS = Map.ofEntries(
+        Map.entry("id", "id"),
+        Map.entry("nome", "nome"),
+        Map.entry("name", "nome"),
+        Map.entry("descricao", "descricao"),
+        Map.entry("description", "descricao"),
+        Map.entry("prioridade", "prioridade"),
+        Map.entry("priority", "prioridade"),
+        Map.entry("situacao", "situacao"),
+        Map.entry("situation", "situacao"),
+        Map.entry("dataPrevistaConclusao", "dataPrevistaConclusao"),
+        Map.entry("expectedCompletionDate", "dataPrevistaConclusao"),
+        Map.entry("dueDate", "dataPrevistaConclusao"),
+        Map.entry("dataCriacao", "dataCriacao"),
+        Map.entry("createdAt", "dataCriacao"),
+        Map.entry("idUser", "idUser"),
+        Map.entry("userId", "idUser"));
+
+    private TaskCampos() {
+    }
+
+    /**
+     * Converte a lista separada por vírgulas nos nomes dos atributos, sem repetições
+     * e na ordem pedida.
+     *
+     * @throws IllegalArgumentException se algum campo não existir ou a lista estiver vazia
+     */
+    public static List<String> parse(String fields) {
+        var campos = new ArrayList<String>();
+        for (var nome : fields.split(",")) {
+            nome = nome.trim();
+            if (nome.isEmpty()) {
+                continue;
+            }
+            var campo = CAMPOS.get(nome);
+            if (campo == null) {
+                throw new IllegalArgumentException("Campo inválido: " + nome);
+            }
+            if (!campos.contains(campo)) {
+                campos.add(campo);
+            }
+        }
+        if (campos.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um campo em fields");
+        }
+        return campos;
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.provaipog.todolist.task;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface TaskCamposRepository {
+
+    /**
+     * Lê só as colunas de {@code campos} das tarefas que atendem a {@code spec}, na ordem de
+     * {@code sort}. Cada linha vem como mapa campo → valor na ordem dos campos; como não
+     * são entidades, nada entra no contexto de persistência (sem snapshot para dirty checking).
+     */
+    List<Map<String, Object>> buscarCampos(Specification<TaskModel> spec, List<String> campos, Sort sort,
+        long inicio, int limite);
+}
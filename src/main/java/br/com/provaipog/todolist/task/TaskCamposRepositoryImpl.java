@@ -0,0 +1,54 @@
+package br.com.provaipog.todolist.task;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Selection;
+
+class TaskCamposRepositoryImpl implements TaskCamposRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> buscarCampos(Specification<TaskModel> spec, List<String> campos, Sort sort,
+            long inicio, int limite) {
+        var cb = this.entityManager.getCriteriaBuilder();
+        var query = cb.createTupleQuery();
+        var root = query.from(TaskModel.class);
+
+        var selecao = new ArrayList<Selection<?>>(campos.size());
+        for (var campo : campos) {
+            selecao.add(root.get(campo).alias(campo));
+        }
+        query.multiselect(selecao)
+            .where(spec.toPredicate(root, query, cb))
+            .orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        List<Tuple> tuplas = this.entityManager.createQuery(query)
+            .setFirstResult(Math.toIntExact(inicio))
+            .setMaxResults(limite)
+            .getResultList();
+
+        var linhas = new ArrayList<Map<String, Object>>(tuplas.size());
+        for (var tupla : tuplas) {
+            var linha = new LinkedHashMap<String, Object>();
+            for (var campo : campos) {
+                linha.put(campo, tupla.get(campo));
+            }
+            linhas.add(linha);
+        }
+        return linhas;
+    }
+}
@@ -1,13 +1,22 @@
 package br.com.provaipog.todolist.task;
 
+import java.io.IOException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -20,24 +29,53 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import br.com.provaipog.todolist.utils.Utils;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/tasks")
 @Tag(name = "Tarefas", description = "API para gerenciamento de tarefas")
 public class TaskController {
+
+    // Muda a cada inicialização: versões de uma execução anterior nunca casam com as atuais
+    private static final String EPOCA = Long.toString(System.currentTimeMillis(), 36);
+    // Trocas de situação que perdem a corrida para outra requisição antes de responder 409
+    private static final int TENTATIVAS_SITUACAO = 3;
     
     @Autowired
     private ITaskRepository taskRepository;
 
+    @Autowired
+    private TaskCountCache taskCountCache;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private TaskOwnerLookup taskOwnerLookup;
+
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
     @PostMapping("/")
     @Operation(summary = "Criar nova tarefa", description = "Cria uma nova tarefa para o usuário autenticado")
     @ApiResponses(value = {
@@ -62,19 +100,62 @@ public class TaskController {
             }
 
             var task = this.taskRepository.save(taskModel);
+            this.taskCountCache.invalidate(task.getIdUser());
             return ResponseEntity.status(HttpStatus.CREATED).body(task);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Criar tarefas em lote", description = "Cria todas as tarefas do lote numa única transação, ou nenhuma se algum item for inválido")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Tarefas criadas, com o id de cada item"),
+        @ApiResponse(responseCode = "400", description = "Lote inválido, com o erro de cada item rejeitado"),
+        @ApiResponse(responseCode = "401", description = "Não autorizado")
+    })
+    public ResponseEntity<?> createBatch(@RequestBody List<JsonNode> itens, HttpServletRequest request) {
+        try {
+            var idUser = (UUID) request.getAttribute("idUser");
+            var resultados = this.taskBatchService.criar(itens, idUser);
+            if (TaskBatchItemResult.temErros(resultados)) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(resultados);
+            }
+            this.taskCountCache.invalidate(idUser);
+            return ResponseEntity.status(HttpStatus.CREATED).body(resultados);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @PatchMapping("/batch")
+    @Operation(summary = "Alterar tarefas em lote", description = "Aplica os campos informados em cada tarefa (pelo id) numa única transação, ou em nenhuma se algum item for inválido")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tarefas alteradas"),
+        @ApiResponse(responseCode = "400", description = "Lote inválido, com o erro (400, 403 ou 404) de cada item rejeitado"),
+        @ApiResponse(responseCode = "401", description = "Não autorizado")
+    })
+    public ResponseEntity<?> updateBatch(@RequestBody List<JsonNode> itens, HttpServletRequest request) {
+        try {
+            var idUser = (UUID) request.getAttribute("idUser");
+            var resultados = this.taskBatchService.atualizar(itens, idUser);
+            if (TaskBatchItemResult.temErros(resultados)) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(resultados);
+            }
+            this.taskCountCache.invalidate(idUser);
+            return ResponseEntity.ok(resultados);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
     @GetMapping("/")
     @Operation(summary = "Listar tarefas", description = "Lista tarefas do usuário com filtros, paginação e ordenação")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Lista de tarefas retornada com sucesso"),
         @ApiResponse(responseCode = "401", description = "Não autorizado")
     })
-    public ResponseEntity<Page<TaskModel>> list(
+    public ResponseEntity<?> list(
             @Parameter(description = "Filtro por nome (contém)") @RequestParam(required = false, name = "nome") String nome,
             @RequestParam(required = false, name = "name") String name,
             @Parameter(description = "Filtro por prioridade") @RequestParam(required = false, name = "prioridade") Priority prioridade,
@@ -85,10 +166,19 @@ public class TaskController {
             @Parameter(description = "Tamanho da página") @RequestParam(defaultValue = "10", name = "size") int tamanho,
             @Parameter(description = "Campo para ordenação") @RequestParam(defaultValue = "nome", name = "sort") String ordenarPor,
             @Parameter(description = "Direção da ordenação (ASC ou DESC)") @RequestParam(defaultValue = "ASC") String direcao,
+            @Parameter(description = "Cursor da paginação por keyset (vazio para a primeira página; ignora page)") @RequestParam(required = false, name = "cursor") String cursor,
+            @Parameter(description = "Modo de paginação: page (com totais) ou slice (sem contagem)") @RequestParam(defaultValue = "page", name = "mode") String modo,
+            @Parameter(description = "Campos retornados, separados por vírgula (ex.: id,nome,prioridade,situacao,dataPrevistaConclusao); padrão: todos") @RequestParam(required = false, name = "fields") String fields,
             HttpServletRequest request) {
         
         var idUser = request.getAttribute("idUser");
 
+        // Versão capturada antes das consultas: uma escrita concorrente deixa a ETag já obsoleta
+        var etag = etag((UUID) idUser, this.taskCountCache.versao((UUID) idUser));
+        if (naoModificado(request, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+
         // Coalesce dos aliases
         String filtroNome = (nome != null && !nome.isBlank()) ? nome : name;
         Priority filtroPrioridade = (prioridade != null) ? prioridade : priority;
@@ -106,56 +196,268 @@ public class TaskController {
             }
         }
         
-        // Mapear campos em inglês para português
+        campoOrdenacao = mapearCampoOrdenacao(campoOrdenacao);
+
+        List<String> campos = null;
+        if (fields != null) {
+            try {
+                campos = TaskCampos.parse(fields);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+            }
+        }
+
+        if (cursor != null) {
+            return listarPorCursor(cursor, (UUID) idUser, filtroNome, filtroPrioridade, filtroSituacao,
+                campoOrdenacao, direcaoOrdenacao, tamanho, campos, etag);
+        }
+        
+        Sort sort = TaskSpecifications.ordenacao(Sort.Direction.fromString(direcaoOrdenacao), campoOrdenacao);
+        Pageable pageable = PageRequest.of(pagina, tamanho, sort);
+        
+        Slice<?> slice = campos == null
+            ? this.taskRepository.findSliceByIdUserWithFilters(
+                (UUID) idUser, filtroNome, filtroPrioridade, filtroSituacao, pageable)
+            : buscarSliceCampos((UUID) idUser, filtroNome, filtroPrioridade, filtroSituacao, campos,
+                Sort.Direction.fromString(direcaoOrdenacao), campoOrdenacao, pageable);
+
+        if ("slice".equalsIgnoreCase(modo)) {
+            return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(new TaskSlicePage(slice.getContent(), pagina, tamanho, slice.hasNext()));
+        }
+
+        // Total vem do cache por usuário/filtro; o COUNT(*) só roda quando estiver desatualizado
+        Page<?> tasks = PageableExecutionUtils.getPage(slice.getContent(), pageable,
+            () -> this.taskCountCache.count((UUID) idUser, filtroNome, filtroPrioridade, filtroSituacao,
+                () -> this.taskRepository.countByIdUserWithFilters(
+                    (UUID) idUser, filtroNome, filtroPrioridade, filtroSituacao)));
+        
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(tasks);
+    }
+
+    /**
+     * Mesma página de {@link ITaskRepository#findSliceByIdUserWithFilters}, lendo do banco
+     * só as colunas pedidas em fields.
+     */
+    private Slice<Map<String, Object>> buscarSliceCampos(UUID idUser, String nome, Priority prioridade,
+            Situation situacao, List<String> campos, Sort.Direction direcao, String campoOrdenacao, Pageable pageable) {
+        var linhas = this.taskRepository.buscarCampos(
+            TaskSpecifications.comFiltros(idUser, nome, prioridade, situacao), campos,
+            TaskSpecifications.ordenacao(direcao, campoOrdenacao, nome),
+            pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean temProxima = linhas.size() > pageable.getPageSize();
+        return new SliceImpl<>(temProxima ? linhas.subList(0, pageable.getPageSize()) : linhas, pageable, temProxima);
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Estatísticas das tarefas", description = "Totais do usuário por situação e prioridade e tarefas atrasadas, lidos de contadores mantidos a cada escrita")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso"),
+        @ApiResponse(responseCode = "401", description = "Não autorizado")
+    })
+    public ResponseEntity<?> stats(HttpServletRequest request) {
+        var idUser = (UUID) request.getAttribute("idUser");
+        return ResponseEntity.ok(this.taskStatsService.consultar(idUser));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Exportar tarefas", description = "Exporta todas as tarefas do usuário em NDJSON (uma tarefa JSON por linha) ou CSV, em ordem de criação")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Arquivo com as tarefas"),
+        @ApiResponse(responseCode = "400", description = "Formato inválido"),
+        @ApiResponse(responseCode = "401", description = "Não autorizado")
+    })
+    public void export(
+            @Parameter(description = "Formato: ndjson ou csv") @RequestParam(defaultValue = TaskExportService.NDJSON, name = "formato") String formato,
+            @RequestParam(required = false, name = "format") String format,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        var idUser = (UUID) request.getAttribute("idUser");
+        String filtroFormato = (format != null && !format.isBlank() ? format : formato).toLowerCase();
+
+        if (!TaskExportService.NDJSON.equals(filtroFormato) && !TaskExportService.CSV.equals(filtroFormato)) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write("Formato inválido: " + filtroFormato);
+            return;
+        }
+
+        // Escrita direta na resposta, na thread da requisição: sem buffer da lista nem timeout de requisição assíncrona
+        boolean csv = TaskExportService.CSV.equals(filtroFormato);
+        response.setContentType(csv ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"tarefas." + filtroFormato + "\"");
+        this.taskExportService.exportar(idUser, filtroFormato, response.getOutputStream());
+    }
+
+    @PostMapping("/import")
+    @Operation(summary = "Importar tarefas", description = "Importa tarefas em NDJSON ou CSV (formato do export), gravando as linhas válidas em blocos e relatando o erro de cada linha rejeitada")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Resumo da importação, com as linhas rejeitadas"),
+        @ApiResponse(responseCode = "400", description = "Formato inválido"),
+        @ApiResponse(responseCode = "401", description = "Não autorizado")
+    })
+    public ResponseEntity<?> importTasks(
+            @Parameter(description = "Formato: ndjson ou csv (padrão: pelo Content-Type)") @RequestParam(required = false, name = "formato") String formato,
+            @RequestParam(required = false, name = "format") String format,
+            HttpServletRequest request) {
+        try {
+            var idUser = (UUID) request.getAttribute("idUser");
+            String filtroFormato = format != null && !format.isBlank() ? format : formato;
+            if (filtroFormato == null || filtroFormato.isBlank()) {
+                var contentType = request.getContentType();
+                filtroFormato = contentType != null && contentType.startsWith("text/csv")
+                    ? TaskExportService.CSV : TaskExportService.NDJSON;
+            }
+            filtroFormato = filtroFormato.toLowerCase();
+            if (!TaskExportService.NDJSON.equals(filtroFormato) && !TaskExportService.CSV.equals(filtroFormato)) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Formato inválido: " + filtroFormato);
+            }
+
+            // O corpo é lido direto do stream da requisição, sem @RequestBody que o carregaria inteiro
+            var resultado = this.taskImportService.importar(idUser, filtroFormato, request.getInputStream());
+            return ResponseEntity.ok(resultado);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Paginação por keyset: busca tamanho + 1 linhas depois de (campo, id) do cursor,
+     * de modo que o custo não cresce com a profundidade da página.
+     * O cursor carrega o campo e a direção da ordenação da primeira página.
+     */
+    private ResponseEntity<?> listarPorCursor(String cursor, UUID idUser, String nome, Priority prioridade,
+            Situation situacao, String campoOrdenacao, String direcaoOrdenacao, int tamanho, List<String> campos,
+            String etag) {
+        TaskCursor atual = null;
+        Sort.Direction direcao;
+        try {
+            if (!cursor.isBlank()) {
+                atual = TaskCursor.decode(cursor);
+                campoOrdenacao = atual.campo();
+                direcao = atual.direcao();
+            } else {
+                direcao = Sort.Direction.fromString(direcaoOrdenacao);
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Cursor inválido");
+        }
+        if (!TaskCursor.CAMPOS_ORDENACAO.contains(campoOrdenacao)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Campo de ordenação inválido: " + campoOrdenacao);
+        }
+        if (tamanho < 1) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("O tamanho da página deve ser maior que zero");
+        }
+
+        var spec = TaskSpecifications.comFiltros(idUser, nome, prioridade, situacao);
+        if (atual != null) {
+            spec = spec.and(TaskSpecifications.aposCursor(atual));
+        }
+        var sort = TaskSpecifications.ordenacao(direcao, campoOrdenacao, nome);
+
+        if (campos != null) {
+            return listarCamposPorCursor(spec, sort, campos, campoOrdenacao, direcao, tamanho, etag);
+        }
+
+        List<TaskModel> linhas = this.taskRepository.findBy(spec, q -> q.sortBy(sort).limit(tamanho + 1).all());
+
+        boolean temProxima = linhas.size() > tamanho;
+        var conteudo = temProxima ? linhas.subList(0, tamanho) : linhas;
+        String proximo = temProxima
+            ? TaskCursor.depoisDe(conteudo.get(conteudo.size() - 1), campoOrdenacao, direcao).encode()
+            : null;
+
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(new TaskCursorPage(conteudo, tamanho, temProxima, proximo));
+    }
+
+    // O cursor precisa do id e do campo de ordenação: lidos mesmo fora de fields e removidos da resposta
+    private ResponseEntity<?> listarCamposPorCursor(Specification<TaskModel> spec, Sort sort, List<String> campos,
+            String campoOrdenacao, Sort.Direction direcao, int tamanho, String etag) {
+        var selecao = new ArrayList<>(campos);
+        for (var campo : List.of("id", campoOrdenacao)) {
+            if (!selecao.contains(campo)) {
+                selecao.add(campo);
+            }
+        }
+
+        var linhas = this.taskRepository.buscarCampos(spec, selecao, sort, 0, tamanho + 1);
+
+        boolean temProxima = linhas.size() > tamanho;
+        var conteudo = temProxima ? linhas.subList(0, tamanho) : linhas;
+        String proximo = null;
+        if (temProxima) {
+            var ultima = conteudo.get(conteudo.size() - 1);
+            proximo = new TaskCursor(campoOrdenacao, direcao, ultima.get(campoOrdenacao), (UUID) ultima.get("id")).encode();
+        }
+        if (selecao.size() > campos.size()) {
+            conteudo.forEach(linha -> linha.keySet().retainAll(campos));
+        }
+
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(new TaskCursorPage(conteudo, tamanho, temProxima, proximo));
+    }
+
+    /**
+     * ETag fraca da versão da tarefa (GET /{id}) ou das tarefas do usuário (listagem),
+     * que toda escrita incrementa depois do commit (ver TaskCache e TaskCountCache).
+     */
+    private static String etag(UUID idUser, long versao) {
+        return "W/\"" + EPOCA + "-" + Integer.toHexString(idUser.hashCode()) + "-" + versao + "\"";
+    }
+
+    private static boolean naoModificado(HttpServletRequest request, String etag) {
+        return new ServletWebRequest(request).checkNotModified(etag);
+    }
+
+    // Mapear campos em inglês para português
+    private static String mapearCampoOrdenacao(String campoOrdenacao) {
         if ("name".equals(campoOrdenacao)) {
-            campoOrdenacao = "nome";
+            return "nome";
         } else if ("description".equals(campoOrdenacao)) {
-            campoOrdenacao = "descricao";
+            return "descricao";
         } else if ("priority".equals(campoOrdenacao)) {
-            campoOrdenacao = "prioridade";
+            return "prioridade";
         } else if ("situation".equals(campoOrdenacao)) {
-            campoOrdenacao = "situacao";
+            return "situacao";
         } else if ("expectedCompletionDate".equals(campoOrdenacao)) {
-            campoOrdenacao = "dataPrevistaConclusao";
+            return "dataPrevistaConclusao";
         } else if ("createdAt".equals(campoOrdenacao)) {
-            campoOrdenacao = "dataCriacao";
+            return "dataCriacao";
         }
-        
-        Sort sort = Sort.by(Sort.Direction.fromString(direcaoOrdenacao), campoOrdenacao);
-        Pageable pageable = PageRequest.of(pagina, tamanho, sort);
-        
-        Page<TaskModel> tasks = this.taskRepository.findByIdUserWithFilters(
-            (UUID) idUser, filtroNome, filtroPrioridade, filtroSituacao, pageable);
-        
-        return ResponseEntity.ok(tasks);
+        return campoOrdenacao;
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<?> getById(@PathVariable UUID id, HttpServletRequest request) {
-        var task = this.taskRepository.findById(id).orElse(null);
+        var idUser = (UUID) request.getAttribute("idUser");
+        // Versão capturada antes da leitura: uma escrita concorrente deixa a ETag já obsoleta
+        var etag = etag(idUser, this.taskCache.versao(id));
+        var task = this.taskCache.buscar(id, idUser, () -> this.taskRepository.findById(id));
         
         if (task == null) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Tarefa não encontrada");
+            return naoEncontrada(id, idUser, "Usuário não tem permissão para acessar essa tarefa");
         }
         
-        var idUser = request.getAttribute("idUser");
         if (!task.getIdUser().equals(idUser)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Usuário não tem permissão para acessar essa tarefa");
         }
+
+        // Só depois de confirmar o dono: o 304 revelaria a existência e a versão da tarefa
+        if (naoModificado(request, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
         
-        return ResponseEntity.ok(task);
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(task);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<?> update(@Valid @RequestBody TaskModel taskModel, HttpServletRequest request, @PathVariable UUID id) {
         try {
+            var idUser = (UUID) request.getAttribute("idUser");
+            // Sem o cache: o save (merge) e o delete leem a linha de novo, então o acerto não pouparia consultas
             var task = this.taskRepository.findById(id).orElse(null);
 
             if (task == null) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Tarefa não encontrada");
+                return naoEncontrada(id, idUser, "Usuário não tem permissão para alterar essa tarefa");
             }
 
-            var idUser = request.getAttribute("idUser");
             if (!task.getIdUser().equals(idUser)) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Usuário não tem permissão para alterar essa tarefa");
             }
@@ -175,6 +477,8 @@ public class TaskController {
 
             Utils.copyNonNullProperties(taskModel, task);
             var taskUpdated = this.taskRepository.save(task);
+            this.taskCountCache.invalidate(idUser);
+            this.taskCountCache.invalidate(taskUpdated.getIdUser());
             return ResponseEntity.ok(taskUpdated);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
@@ -183,18 +487,19 @@ public class TaskController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> delete(@PathVariable UUID id, HttpServletRequest request) {
+        var idUser = (UUID) request.getAttribute("idUser");
         var task = this.taskRepository.findById(id).orElse(null);
 
         if (task == null) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Tarefa não encontrada");
+            return naoEncontrada(id, idUser, "Usuário não tem permissão para excluir essa tarefa");
         }
 
-        var idUser = request.getAttribute("idUser");
         if (!task.getIdUser().equals(idUser)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Usuário não tem permissão para excluir essa tarefa");
         }
 
         this.taskRepository.delete(task);
+        this.taskCountCache.invalidate(task.getIdUser());
         return ResponseEntity.noContent().build();
     }
 
@@ -204,27 +509,12 @@ public class TaskController {
         @ApiResponse(responseCode = "200", description = "Tarefa marcada como concluída"),
         @ApiResponse(responseCode = "400", description = "Tarefa já está concluída"),
         @ApiResponse(responseCode = "404", description = "Tarefa não encontrada"),
-        @ApiResponse(responseCode = "403", description = "Sem permissão")
+        @ApiResponse(responseCode = "403", description = "Sem permissão"),
+        @ApiResponse(responseCode = "409", description = "Situação alterada ao mesmo tempo por outras requisições")
     })
     public ResponseEntity<?> marcarComoConcluida(@PathVariable UUID id, HttpServletRequest request) {
-        var task = this.taskRepository.findById(id).orElse(null);
-
-        if (task == null) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Tarefa não encontrada");
-        }
-
-        var idUser = request.getAttribute("idUser");
-        if (!task.getIdUser().equals(idUser)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Usuário não tem permissão para alterar essa tarefa");
-        }
-
-        if (task.getSituacao() == Situation.CONCLUIDA) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Tarefa já está concluída");
-        }
-
-        task.setSituacao(Situation.CONCLUIDA);
-        var taskUpdated = this.taskRepository.save(task);
-        return ResponseEntity.ok(taskUpdated);
+        return alterarSituacao(id, (UUID) request.getAttribute("idUser"), Situation.CONCLUIDA,
+            "Tarefa já está concluída");
     }
 
     @PatchMapping("/{id}/pending")
@@ -233,26 +523,58 @@ public class TaskController {
         @ApiResponse(responseCode = "200", description = "Tarefa marcada como pendente"),
         @ApiResponse(responseCode = "400", description = "Tarefa já está pendente"),
         @ApiResponse(responseCode = "404", description = "Tarefa não encontrada"),
-        @ApiResponse(responseCode = "403", description = "Sem permissão")
+        @ApiResponse(responseCode = "403", description = "Sem permissão"),
+        @ApiResponse(responseCode = "409", description = "Situação alterada ao mesmo tempo por outras requisições")
     })
     public ResponseEntity<?> marcarComoPendente(@PathVariable UUID id, HttpServletRequest request) {
-        var task = this.taskRepository.findById(id).orElse(null);
+        return alterarSituacao(id, (UUID) request.getAttribute("idUser"), Situation.PENDENTE,
+            "Tarefa já está pendente");
+    }
 
-        if (task == null) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Tarefa não encontrada");
-        }
+    /**
+     * Transição de situação num único UPDATE condicional (dono e situação diferente).
+     * Só quando nenhuma linha é alterada a tarefa é lida para responder 404, 403 ou 400.
+     * Se outra requisição mudou a situação entre o UPDATE e a leitura, tenta de novo, até
+     * {@value #TENTATIVAS_SITUACAO} vezes.
+     */
+    private ResponseEntity<?> alterarSituacao(UUID id, UUID idUser, Situation situacao, String mensagemMesmaSituacao) {
+        for (int tentativa = 1; tentativa <= TENTATIVAS_SITUACAO; tentativa++) {
+            var taskUpdated = this.taskRepository.alterarSituacao(id, idUser, situacao).orElse(null);
+            if (taskUpdated != null) {
+                // UPDATE nativo não dispara os entity listeners
+                this.taskCache.invalidate(id);
+                this.taskCountCache.invalidate(idUser);
+                return ResponseEntity.ok(taskUpdated);
+            }
 
-        var idUser = request.getAttribute("idUser");
-        if (!task.getIdUser().equals(idUser)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Usuário não tem permissão para alterar essa tarefa");
-        }
+            // Lida direto do banco: o cache pode ainda não ter visto a escrita que causou a falha
+            var task = this.taskRepository.findById(id).orElse(null);
+
+            if (task == null) {
+                return naoEncontrada(id, idUser, "Usuário não tem permissão para alterar essa tarefa");
+            }
 
-        if (task.getSituacao() == Situation.PENDENTE) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Tarefa já está pendente");
+            if (!task.getIdUser().equals(idUser)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Usuário não tem permissão para alterar essa tarefa");
+            }
+
+            if (task.getSituacao() == situacao) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(mensagemMesmaSituacao);
+            }
         }
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("A situação da tarefa está sendo alterada por outra requisição");
+    }
 
-        task.setSituacao(Situation.PENDENTE);
-        var taskUpdated = this.taskRepository.save(task);
-        return ResponseEntity.ok(taskUpdated);
+    /**
+     * Tarefa fora do shard do usuário: 403 se for de outro usuário, como sem shards. Uma
+     * tarefa do próprio usuário ainda em outro shard (rebalanceamento pendente) continua
+     * 404, como na listagem.
+     */
+    private ResponseEntity<?> naoEncontrada(UUID id, UUID idUser, String mensagemSemPermissao) {
+        var dono = this.taskOwnerLookup.donoEmOutroShard(id).orElse(null);
+        if (dono != null && !dono.equals(idUser)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(mensagemSemPermissao);
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Tarefa não encontrada");
     }
-}
\ No newline at end of file
+}
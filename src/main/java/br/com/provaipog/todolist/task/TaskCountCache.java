@@ -0,0 +1,57 @@
+package br.com.provaipog.todolist.task;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.com.provaipog.todolist.utils.AfterCommit;
+import br.com.provaipog.todolist.utils.BoundedTtlCache;
+import br.com.provaipog.todolist.utils.VersionStripes;
+
+/**
+ * Total de tarefas por usuário e combinação de filtros, para que a listagem
+ * paginada só execute o COUNT(*) quando o valor em cache estiver desatualizado.
+ * Toda escrita de tarefas do usuário invalida os totais dele.
+ */
+@Component
+public class TaskCountCache {
+
+    private final BoundedTtlCache<CountKey, Long> cache;
+    private final VersionStripes versions = new VersionStripes(1024);
+
+    public TaskCountCache(
+            @Value("${todolist.tasks.count-cache.max-size:10000}") int maxSize,
+            @Value("${todolist.tasks.count-cache.ttl:10m}") Duration ttl) {
+        this.cache = new BoundedTtlCache<>(maxSize, ttl);
+    }
+
+    public long count(UUID idUser, String nome, Priority prioridade, Situation situacao, LongSupplier counter) {
+        var key = new CountKey(idUser, this.versions.current(idUser), nome, prioridade, situacao);
+        var cached = this.cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long total = counter.getAsLong();
+        this.cache.put(key, total);
+        return total;
+    }
+
+    /** Versão atual das tarefas do usuário; só aumenta, a cada escrita delas (também serve de ETag). */
+    public long versao(UUID idUser) {
+        return this.versions.current(idUser);
+    }
+
+    public void invalidate(UUID idUser) {
+        AfterCommit.run(() -> this.versions.bump(idUser));
+    }
+
+    public BoundedTtlCache<?, ?> getCache() {
+        return cache;
+    }
+
+    private record CountKey(UUID idUser, long version, String nome, Priority prioridade, Situation situacao) {
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.provaipog.todolist.task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Cursor opaco da paginação por keyset: campo e direção da ordenação,
+ * valor do campo na última tarefa retornada e o id usado como desempate.
+ */
+public record TaskCursor(String campo, Sort.Direction direcao, Object valor, UUID id) {
+
+    public static final Set<String> CAMPOS_ORDENACAO = Set.of(
+        "nome", "descricao", "prioridade", "situacao", "dataPrevistaConclusao", "dataCriacao");
+
+    private static final String SEPARADOR = "\n";
+
+    public static TaskCursor depoisDe(TaskModel task, String campo, Sort.Direction direcao) {
+        return new TaskCursor(campo, direcao, valorDe(task, campo), task.getId());
+    }
+
+    public String encode() {
+        var raw = String.join(SEPARADOR, campo, direcao.name(), id.toString(),
+            valor == null ? "" : "v" + valor);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException se o token não for um cursor válido
+     */
+    public static TaskCursor decode(String token) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var partes = raw.split(SEPARADOR, 4);
+            if (partes.length != 4 || !CAMPOS_ORDENACAO.contains(partes[0])) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            var campo = partes[0];
+            var valor = partes[3].isEmpty() ? null : converter(campo, partes[3].substring(1));
+            return new TaskCursor(campo, Sort.Direction.fromString(partes[1]), valor, UUID.fromString(partes[2]));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+
+    private static Object valorDe(TaskModel task, String campo) {
+        return switch (campo) {
+            case "nome" -> task.getNome();
+            case "descricao" -> task.getDescricao();
+            case "prioridade" -> task.getPrioridade();
+            case "situacao" -> task.getSituacao();
+            case "dataPrevistaConclusao" -> task.getDataPrevistaConclusao();
+            case "dataCriacao" -> task.getDataCriacao();
+            default -> throw new IllegalArgumentException("Campo de ordenação inválido: " + campo);
+        };
+    }
+
+    private static Object converter(String campo, String valor) {
+        return switch (campo) {
+            case "prioridade" -> Priority.valueOf(valor);
+            case "situacao" -> Situation.valueOf(valor);
+            case "dataPrevistaConclusao" -> LocalDate.parse(valor);
+            case "dataCriacao" -> LocalDateTime.parse(valor);
+            default -> valor;
+        };
+    }
+}
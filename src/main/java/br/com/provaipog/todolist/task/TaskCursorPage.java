@@ -0,0 +1,15 @@
+package br.com.provaipog.todolist.task;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TaskCursorPage {
+    private List<?> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
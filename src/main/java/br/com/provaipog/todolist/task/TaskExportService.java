@@ -0,0 +1,121 @@
+package br.com.provaipog.todolist.task;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Exportação de todas as tarefas de um usuário em NDJSON ou CSV com memória constante:
+ * as linhas vêm do banco aos poucos, cada tarefa é escrita direto na saída e em seguida
+ * desanexada do EntityManager, de modo que o contexto de persistência não cresce.
+ */
+@Service
+public class TaskExportService {
+
+    public static final String NDJSON = "ndjson";
+    public static final String CSV = "csv";
+
+    private static final String CABECALHO_CSV =
+        "id,nome,descricao,prioridade,situacao,dataPrevistaConclusao,dataCriacao,idUser";
+
+    @Autowired
+    private ITaskRepository taskRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public void exportar(UUID idUser, String formato, OutputStream saida) throws IOException {
+        // Sem execução lazy o H2 embarcado materializa o resultado inteiro antes de devolver a primeira linha
+        definirExecucaoLazy(true);
+        try (Stream<TaskModel> tarefas = this.taskRepository.streamByIdUser(idUser)) {
+            if (CSV.equals(formato)) {
+                escreverCsv(tarefas, saida);
+            } else {
+                escreverNdjson(tarefas, saida);
+            }
+        } finally {
+            // A conexão volta para o pool: não deixar a configuração da sessão para o próximo uso
+            definirExecucaoLazy(false);
+        }
+    }
+
+    private void escreverNdjson(Stream<TaskModel> tarefas, OutputStream saida) throws IOException {
+        try (JsonGenerator json = this.objectMapper.getFactory().createGenerator(saida)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            var iterator = tarefas.iterator();
+            while (iterator.hasNext()) {
+                var task = iterator.next();
+                this.objectMapper.writeValue(json, task);
+                json.writeRaw('\n');
+                this.entityManager.detach(task);
+            }
+        }
+    }
+
+    private void escreverCsv(Stream<TaskModel> tarefas, OutputStream saida) throws IOException {
+        Writer csv = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        csv.write(CABECALHO_CSV);
+        csv.write("\r\n");
+        var iterator = tarefas.iterator();
+        while (iterator.hasNext()) {
+            var task = iterator.next();
+            campo(csv, task.getId());
+            csv.write(',');
+            campo(csv, task.getNome());
+            csv.write(',');
+            campo(csv, task.getDescricao());
+            csv.write(',');
+            campo(csv, task.getPrioridade());
+            csv.write(',');
+            campo(csv, task.getSituacao());
+            csv.write(',');
+            campo(csv, task.getDataPrevistaConclusao());
+            csv.write(',');
+            campo(csv, task.getDataCriacao());
+            csv.write(',');
+            campo(csv, task.getIdUser());
+            csv.write("\r\n");
+            this.entityManager.detach(task);
+        }
+        csv.flush();
+    }
+
+    /** Campo CSV (RFC 4180): entre aspas quando contém separador, aspas ou quebra de linha. */
+    private static void campo(Writer csv, Object valor) throws IOException {
+        if (valor == null) {
+            return;
+        }
+        var texto = valor.toString();
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            csv.write(texto);
+            return;
+        }
+        csv.write('"');
+        csv.write(texto.replace("\"", "\"\""));
+        csv.write('"');
+    }
+
+    private void definirExecucaoLazy(boolean lazy) {
+        this.entityManager.createNativeQuery("SET LAZY_QUERY_EXECUTION " + (lazy ? "TRUE" : "FALSE"))
+            .executeUpdate();
+    }
+}
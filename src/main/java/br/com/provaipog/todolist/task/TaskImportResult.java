@@ -0,0 +1,26 @@
+package br.com.provaipog.todolist.task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Resumo de POST /tasks/import. Todas as linhas rejeitadas entram em {@code rejeitadas},
+ * mas só as primeiras (todolist.tasks.import.max-errors) vêm detalhadas em {@code erros}.
+ */
+@Data
+public class TaskImportResult {
+    private long linhas;
+    private long importadas;
+    private long rejeitadas;
+    private List<Erro> erros = new ArrayList<>();
+
+    @Data
+    @AllArgsConstructor
+    public static class Erro {
+        private long linha;
+        private String mensagem;
+    }
+}
@@ -0,0 +1,424 @@
+package br.com.provaipog.todolist.task;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import br.com.provaipog.todolist.utils.UuidV7;
+
+/**
+ * Importação de tarefas em NDJSON ou CSV (mesmo formato de {@link TaskExportService}).
+ * O corpo é lido registro a registro, sem ser carregado inteiro em memória; cada linha
+ * passa pelas mesmas regras da criação (setters de {@link TaskModel}, Bean Validation e
+ * os padrões BAIXA/ABERTA) e as válidas são gravadas em blocos, cada um na sua transação,
+ * pelo mesmo INSERT em batch JDBC de {@link TaskBatchService}. Linhas inválidas são
+ * rejeitadas sem interromper a importação, inclusive as maiores que
+ * {@code todolist.tasks.import.max-line-length} caracteres, que são descartadas sem serem
+ * guardadas em memória.
+ */
+@Service
+public class TaskImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImportService.class);
+
+    /** Nomes de coluna aceitos no cabeçalho CSV (os do export e os aliases do JSON). */
+    private static final Map<String, String> COLUNAS = Map.ofEntries(
+        Map.entry("nome", "nome"), Map.entry("name", "nome"),
+        Map.entry("descricao", "descricao"), Map.entry("description", "descricao"),
+        Map.entry("prioridade", "prioridade"), Map.entry("priority", "prioridade"),
+        Map.entry("situacao", "situacao"), Map.entry("situation", "situacao"),
+        Map.entry("dataprevistaconclusao", "dataPrevistaConclusao"),
+        Map.entry("expectedcompletiondate", "dataPrevistaConclusao"),
+        Map.entry("duedate", "dataPrevistaConclusao"));
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private TaskCountCache taskCountCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${todolist.tasks.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${todolist.tasks.import.max-errors:100}")
+    private int maxErrors;
+
+    @Value("${todolist.tasks.import.progress-interval:50000}")
+    private long progressInterval;
+
+    @Value("${todolist.tasks.import.max-line-length:16384}")
+    private int maxLineLength;
+
+    public TaskImportResult importar(UUID idUser, String formato, InputStream entrada) throws IOException {
+        var importacao = new Importacao(idUser);
+        var reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        if (TaskExportService.CSV.equals(formato)) {
+            lerCsv(reader, importacao);
+        } else {
+            lerNdjson(reader, importacao);
+        }
+        importacao.gravar();
+        importacao.registrarProgresso("concluída");
+        return importacao.resultado;
+    }
+
+    private void lerNdjson(BufferedReader reader, Importacao importacao) throws IOException {
+        ObjectReader leitor = this.objectMapper.readerFor(TaskModel.class);
+        var linhas = new LeitorLinhas(reader, this.maxLineLength);
+        String linha;
+        long numero = 0;
+        while ((linha = linhas.proxima()) != null) {
+            numero++;
+            if (linhas.excedida()) {
+                importacao.rejeitar(numero, linhaLonga());
+                continue;
+            }
+            if (linha.isBlank()) {
+                continue;
+            }
+            TaskModel task;
+            try {
+                task = leitor.readValue(linha);
+            } catch (JsonProcessingException e) {
+                importacao.rejeitar(numero, mensagem(e));
+                continue;
+            }
+            if (task == null) {
+                importacao.rejeitar(numero, "A linha deve ser um objeto JSON");
+                continue;
+            }
+            importacao.adicionar(numero, task);
+        }
+    }
+
+    private void lerCsv(BufferedReader reader, Importacao importacao) throws IOException {
+        var csv = new LeitorCsv(reader, this.maxLineLength);
+        var cabecalho = csv.proximo();
+        if (cabecalho == null) {
+            return;
+        }
+        if (csv.excedido()) {
+            importacao.rejeitar(csv.linhaDoRegistro(), linhaLonga());
+            return;
+        }
+        var indices = new HashMap<String, Integer>();
+        for (int i = 0; i < cabecalho.size(); i++) {
+            var campo = COLUNAS.get(cabecalho.get(i).trim().toLowerCase());
+            if (campo != null) {
+                indices.putIfAbsent(campo, i);
+            }
+        }
+        List<String> registro;
+        while ((registro = csv.proximo()) != null) {
+            long numero = csv.linhaDoRegistro();
+            if (csv.excedido()) {
+                importacao.rejeitar(numero, linhaLonga());
+                continue;
+            }
+            if (registro.size() == 1 && registro.get(0).isBlank()) {
+                continue;
+            }
+            try {
+                importacao.adicionar(numero, tarefaCsv(registro, indices));
+            } catch (Exception e) {
+                importacao.rejeitar(numero, e.getMessage());
+            }
+        }
+    }
+
+    private static TaskModel tarefaCsv(List<String> registro, Map<String, Integer> indices) throws Exception {
+        var task = new TaskModel();
+        task.setNome(valor(registro, indices, "nome"));
+        task.setDescricao(valor(registro, indices, "descricao"));
+        var prioridade = valor(registro, indices, "prioridade");
+        if (prioridade != null) {
+            task.setPrioridade(enumerado(Priority.class, prioridade, "Prioridade inválida: "));
+        }
+        var situacao = valor(registro, indices, "situacao");
+        task.setSituacao(situacao == null ? null : enumerado(Situation.class, situacao, "Situação inválida: "));
+        var data = valor(registro, indices, "dataPrevistaConclusao");
+        try {
+            task.setDataPrevistaConclusao(data == null ? null : LocalDate.parse(data));
+        } catch (DateTimeParseException e) {
+            throw new Exception("Data prevista de conclusão inválida: " + data);
+        }
+        return task;
+    }
+
+    /** Valor da coluna, ou null quando ausente ou vazio. */
+    private static String valor(List<String> registro, Map<String, Integer> indices, String campo) {
+        var indice = indices.get(campo);
+        if (indice == null || indice >= registro.size() || registro.get(indice).isEmpty()) {
+            return null;
+        }
+        return registro.get(indice);
+    }
+
+    private static <E extends Enum<E>> E enumerado(Class<E> tipo, String valor, String erro) throws Exception {
+        try {
+            return Enum.valueOf(tipo, valor.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new Exception(erro + valor);
+        }
+    }
+
+    private String linhaLonga() {
+        return "A linha tem mais de " + this.maxLineLength + " caracteres";
+    }
+
+    /** Mensagem de erro de uma linha JSON: a dos setters de TaskModel quando foram eles que falharam. */
+    static String mensagem(JsonProcessingException e) {
+        Throwable causa = e;
+        while (causa.getCause() != null && causa.getCause() != causa) {
+            causa = causa.getCause();
+        }
+        return causa instanceof JsonProcessingException json ? json.getOriginalMessage() : causa.getMessage();
+    }
+
+    /** Estado de uma importação: o bloco pendente de gravação e o resumo. */
+    private final class Importacao {
+
+        private final UUID idUser;
+        private final TaskImportResult resultado = new TaskImportResult();
+        private final List<TaskModel> bloco = new ArrayList<>(chunkSize);
+        private final List<Long> linhasDoBloco = new ArrayList<>(chunkSize);
+        private final long inicio = System.nanoTime();
+        private long proximoProgresso = progressInterval;
+
+        private Importacao(UUID idUser) {
+            this.idUser = idUser;
+        }
+
+        void adicionar(long linha, TaskModel task) {
+            resultado.setLinhas(resultado.getLinhas() + 1);
+            if (task.getPrioridade() == null) {
+                task.setPrioridade(Priority.BAIXA);
+            }
+            if (task.getSituacao() == null) {
+                task.setSituacao(Situation.ABERTA);
+            }
+            var erro = taskBatchService.validarCriacao(task);
+            if (erro != null) {
+                contarRejeicao(linha, erro);
+                return;
+            }
+            task.setId(UuidV7.gerar());
+            task.setIdUser(this.idUser);
+            task.setDataCriacao(LocalDateTime.now());
+            bloco.add(task);
+            linhasDoBloco.add(linha);
+            if (bloco.size() >= chunkSize) {
+                gravar();
+            }
+        }
+
+        void rejeitar(long linha, String mensagem) {
+            resultado.setLinhas(resultado.getLinhas() + 1);
+            contarRejeicao(linha, mensagem);
+        }
+
+        private void contarRejeicao(long linha, String mensagem) {
+            resultado.setRejeitadas(resultado.getRejeitadas() + 1);
+            if (resultado.getErros().size() < maxErrors) {
+                resultado.getErros().add(new TaskImportResult.Erro(linha, mensagem));
+            }
+        }
+
+        /** Grava o bloco pendente numa transação própria; se o banco recusar, o bloco inteiro é rejeitado. */
+        void gravar() {
+            if (bloco.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    taskBatchService.inserir(bloco);
+                    taskCountCache.invalidate(this.idUser);
+                });
+                resultado.setImportadas(resultado.getImportadas() + bloco.size());
+            } catch (DataAccessException e) {
+                log.warn("Bloco de importação rejeitado pelo banco (linhas {} a {}): {}",
+                    linhasDoBloco.get(0), linhasDoBloco.get(linhasDoBloco.size() - 1), e.getMostSpecificCause().getMessage());
+                for (var linha : linhasDoBloco) {
+                    contarRejeicao(linha, "Erro ao gravar o bloco: " + e.getMostSpecificCause().getMessage());
+                }
+            }
+            bloco.clear();
+            linhasDoBloco.clear();
+            if (resultado.getLinhas() >= proximoProgresso) {
+                registrarProgresso("em andamento");
+                proximoProgresso += progressInterval;
+            }
+        }
+
+        void registrarProgresso(String etapa) {
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+            log.info("Importação {} para o usuário {}: {} linhas, {} importadas, {} rejeitadas ({} linhas/s)",
+                etapa, idUser, resultado.getLinhas(), resultado.getImportadas(), resultado.getRejeitadas(),
+                Math.round(resultado.getLinhas() / Math.max(segundos, 1e-3)));
+        }
+    }
+
+    /**
+     * Leitor de linhas (fim em \n ou \r\n) que guarda no máximo {@code limite} caracteres
+     * de cada uma; o resto de uma linha maior é lido e descartado.
+     */
+    private static final class LeitorLinhas {
+
+        private final Reader reader;
+        private final int limite;
+        private final StringBuilder linha = new StringBuilder();
+        private boolean excedida;
+
+        private LeitorLinhas(Reader reader, int limite) {
+            this.reader = reader;
+            this.limite = limite;
+        }
+
+        /** A linha passou do limite; nesse caso {@link #proxima()} devolveu só o começo dela. */
+        boolean excedida() {
+            return excedida;
+        }
+
+        /** Próxima linha sem o fim de linha, ou null no fim da entrada. */
+        String proxima() throws IOException {
+            linha.setLength(0);
+            excedida = false;
+            int c = reader.read();
+            if (c < 0) {
+                return null;
+            }
+            while (c >= 0 && c != '\n') {
+                if (linha.length() < limite) {
+                    linha.append((char) c);
+                } else if (c != '\r') {
+                    excedida = true;
+                }
+                c = reader.read();
+            }
+            if (!excedida && linha.length() > 0 && linha.charAt(linha.length() - 1) == '\r') {
+                linha.setLength(linha.length() - 1);
+            }
+            return linha.toString();
+        }
+    }
+
+    /**
+     * Leitor CSV (RFC 4180) incremental: um registro por chamada, com campos entre aspas
+     * podendo conter separador, aspas duplicadas e quebras de linha. Registros com mais de
+     * {@code limite} caracteres são lidos até o fim sem guardar o excesso.
+     */
+    private static final class LeitorCsv {
+
+        private final Reader reader;
+        private final int limite;
+        private long linha = 1;
+        private long linhaDoRegistro;
+        private int tamanho;
+        private boolean excedido;
+        private boolean fim;
+
+        private LeitorCsv(Reader reader, int limite) {
+            this.reader = reader;
+            this.limite = limite;
+        }
+
+        long linhaDoRegistro() {
+            return linhaDoRegistro;
+        }
+
+        /** O último registro passou do limite; os campos devolvidos estão incompletos. */
+        boolean excedido() {
+            return excedido;
+        }
+
+        List<String> proximo() throws IOException {
+            if (fim) {
+                return null;
+            }
+            linhaDoRegistro = linha;
+            tamanho = 0;
+            excedido = false;
+            var campos = new ArrayList<String>();
+            var campo = new StringBuilder();
+            boolean entreAspas = false;
+            int c = reader.read();
+            if (c < 0) {
+                fim = true;
+                return null;
+            }
+            while (true) {
+                if (c < 0) {
+                    fim = true;
+                    campos.add(campo.toString());
+                    return campos;
+                }
+                if (entreAspas) {
+                    if (c == '"') {
+                        int seguinte = reader.read();
+                        if (seguinte == '"') {
+                            campo.append('"');
+                        } else {
+                            entreAspas = false;
+                            c = seguinte;
+                            continue;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            linha++;
+                        }
+                        acrescentar(campo, c);
+                    }
+                } else if (c == '"' && campo.length() == 0) {
+                    entreAspas = true;
+                } else if (c == ',') {
+                    campos.add(campo.toString());
+                    campo.setLength(0);
+                } else if (c == '\n') {
+                    linha++;
+                    campos.add(campo.toString());
+                    return campos;
+                } else if (c != '\r') {
+                    acrescentar(campo, c);
+                }
+                c = reader.read();
+            }
+        }
+
+        private void acrescentar(StringBuilder campo, int c) {
+            if (++tamanho > limite) {
+                excedido = true;
+            } else {
+                campo.append((char) c);
+            }
+        }
+    }
+}
@@ -8,21 +8,44 @@ import org.hibernate.annotations.CreationTimestamp;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import br.com.provaipog.todolist.utils.TimeOrderedUuid;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Data
 @Entity(name = "tb_tasks")
+@EntityListeners({ TaskTrigramIndexer.class, TaskCacheInvalidator.class, TaskStatsUpdater.class, TaskOverdueListener.class })
+@Table(name = "tb_tasks", indexes = {
+    // Filtros da listagem (situação/prioridade) e a ordenação padrão por situação
+    @Index(name = "idx_tasks_usuario_situacao_prioridade", columnList = "id_user, situacao, prioridade"),
+    // Ordenações aceitas por GET /tasks/, com id como desempate da paginação por keyset
+    @Index(name = "idx_tasks_usuario_data_prevista", columnList = "id_user, data_prevista_conclusao, id"),
+    @Index(name = "idx_tasks_usuario_nome", columnList = "id_user, nome, id"),
+    @Index(name = "idx_tasks_usuario_prioridade", columnList = "id_user, prioridade, id"),
+    @Index(name = "idx_tasks_usuario_criacao", columnList = "id_user, data_criacao, id"),
+    @Index(name = "idx_tasks_usuario_descricao", columnList = "id_user, descricao, id"),
+    // Tarefas de todos os usuários que vencem numa faixa de datas (TaskOverdueDetector)
+    @Index(name = "idx_tasks_situacao_data_prevista", columnList = "situacao, data_prevista_conclusao")
+})
 public class TaskModel {
     
     @Id
-    @GeneratedValue(generator = "UUID")
+    @TimeOrderedUuid
     private UUID id;
     
     @NotBlank(message = "Nome é obrigatório")
@@ -57,6 +80,24 @@ public class TaskModel {
 
     @JsonAlias({"userId"})
     private UUID idUser;
+
+    // Nome com que os trigramas estão gravados, mantido por TaskTrigramIndexer
+    @Transient
+    @JsonIgnore
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String nomeIndexado;
+
+    // Estado contado nos contadores de tarefas, mantido por TaskStatsUpdater
+    @Transient
+    @JsonIgnore
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private TaskStatsUpdater.Contagem contagemGravada;
     
     public void setNome(String nome) throws Exception {
         if (nome == null || nome.trim().isEmpty()) {
@@ -77,4 +118,56 @@ public class TaskModel {
         }
         this.dataPrevistaConclusao = dataPrevistaConclusao;
     }
+
+    /**
+     * Tarefa nova com os campos de um item de lote, sem passar pelos setters com validação:
+     * {@link TaskBatchService} valida a tarefa depois e informa o erro de cada item.
+     */
+    static TaskModel de(TaskBatchItem item) {
+        var task = new TaskModel();
+        task.nome = item.getNome();
+        task.descricao = item.getDescricao();
+        task.prioridade = item.getPrioridade();
+        if (item.getSituacao() != null) {
+            task.situacao = item.getSituacao();
+        }
+        task.dataPrevistaConclusao = item.getDataPrevistaConclusao();
+        return task;
+    }
+
+    /**
+     * Aplica os campos não nulos de uma alteração em lote já validada. Id, situação, dono e
+     * data de criação não são alteráveis por ela.
+     */
+    void aplicar(TaskBatchItem alteracao) {
+        if (alteracao.getNome() != null) {
+            this.nome = alteracao.getNome();
+        }
+        if (alteracao.getDescricao() != null) {
+            this.descricao = alteracao.getDescricao();
+        }
+        if (alteracao.getPrioridade() != null) {
+            this.prioridade = alteracao.getPrioridade();
+        }
+        if (alteracao.getDataPrevistaConclusao() != null) {
+            this.dataPrevistaConclusao = alteracao.getDataPrevistaConclusao();
+        }
+    }
+
+    /**
+     * Cópia rasa de todos os campos, sem passar pelos setters com validação
+     * (uma tarefa já gravada pode ter data prevista no passado).
+     */
+    public TaskModel copia() {
+        var copia = new TaskModel();
+        copia.id = this.id;
+        copia.nome = this.nome;
+        copia.descricao = this.descricao;
+        copia.prioridade = this.prioridade;
+        copia.situacao = this.situacao;
+        copia.dataPrevistaConclusao = this.dataPrevistaConclusao;
+        copia.dataCriacao = this.dataCriacao;
+        copia.idUser = this.idUser;
+        return copia;
+    }
 }
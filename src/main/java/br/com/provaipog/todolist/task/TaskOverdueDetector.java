@@ -0,0 +1,219 @@
+package br.com.provaipog.todolist.task;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.provaipog.todolist.utils.AfterCommit;
+import br.com.provaipog.todolist.utils.ShardRouting;
+import br.com.provaipog.todolist.utils.TimingWheel;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Publica {@link TaskOverdueEvent} quando passa o prazo de uma tarefa não concluída: o fim
+ * do dia de dataPrevistaConclusao no fuso do servidor, o mesmo das atrasadas de
+ * /tasks/stats. Só as tarefas que vencem dentro de {@code todolist.tasks.overdue.horizon}
+ * ficam em memória, num {@link TimingWheel}. Elas são lidas pelo índice
+ * (situacao, data_prevista_conclusao), uma faixa de datas nova por vez, e as escritas
+ * ({@link TaskOverdueListener}, troca de situação e importação) agendam ou cancelam cada tarefa depois
+ * do commit. O trabalho acompanha as tarefas que vencem, não o tamanho de tb_tasks.
+ *
+ * <p>No vencimento a tarefa é conferida no banco pela chave primária, para o caso de ter
+ * mudado por fora dos listeners. Tarefas que já estavam atrasadas quando a aplicação
+ * subiu não geram evento, e cada instância da aplicação detecta por conta própria.
+ */
+@Component
+public class TaskOverdueDetector {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskOverdueDetector.class);
+
+    private static final int POSICOES = 64;
+    private static final int LOTE_CONFERENCIA = 500;
+    // Mesmo critério na carga e na conferência; em IN para a carga ler faixas do índice
+    private static final String NAO_CONCLUIDA = Arrays.stream(Situation.values())
+        .filter(situacao -> situacao != Situation.CONCLUIDA)
+        .map(situacao -> "'" + situacao.name() + "'")
+        .collect(Collectors.joining(", ", "situacao IN (", ")"));
+    private static final String CARREGAR = "SELECT id, id_user, data_prevista_conclusao FROM tb_tasks "
+        + "WHERE " + NAO_CONCLUIDA + " AND data_prevista_conclusao >= ? AND data_prevista_conclusao < ?";
+    private static final String CONFERIR = "SELECT id, data_prevista_conclusao FROM tb_tasks "
+        + "WHERE " + NAO_CONCLUIDA + " AND id IN (%s)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectProvider<ShardRouting> shardRouting;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${todolist.tasks.overdue.tick:1s}")
+    private Duration tick;
+
+    @Value("${todolist.tasks.overdue.horizon:1d}")
+    private Duration horizonte;
+
+    // Nulo até a aplicação subir; as escritas anteriores entram pela primeira carga. Trocado
+    // inteiro (só por carregar e reiniciar, sincronizados) para quem agenda ler uma versão só
+    private volatile Estado estado;
+
+    /** Agenda ou cancela a tarefa conforme o estado gravado, depois do commit da escrita. */
+    void registrar(TaskModel task) {
+        var vencimento = new Vencimento(task.getId(), task.getIdUser(), task.getDataPrevistaConclusao());
+        boolean concluida = task.getSituacao() == Situation.CONCLUIDA;
+        AfterCommit.run(() -> agendar(this.estado, vencimento, concluida));
+    }
+
+    /** Tarefa removida: cancela depois do commit. */
+    void remover(UUID id) {
+        AfterCommit.run(() -> {
+            var estado = this.estado;
+            if (estado != null) {
+                estado.roda().cancelar(id);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        reiniciar(Clock.systemDefaultZone());
+    }
+
+    /** Lê do banco a faixa de datas que entrou no horizonte desde a última carga. */
+    @Scheduled(initialDelayString = "${todolist.tasks.overdue.reload-interval:1h}",
+        fixedDelayString = "${todolist.tasks.overdue.reload-interval:1h}")
+    public synchronized void carregar() {
+        var anterior = this.estado;
+        if (anterior == null) {
+            return;
+        }
+        var de = anterior.carregadoAte();
+        var relogio = anterior.relogio();
+        var ate = relogio.instant().plus(this.horizonte).atZone(relogio.getZone()).toLocalDate().plusDays(1);
+        if (!ate.isAfter(de)) {
+            return;
+        }
+        // Publicado antes da leitura: o que for gravado depois dela já é agendado pelos listeners
+        var estado = new Estado(anterior.roda(), ate, relogio);
+        this.estado = estado;
+        int[] tarefas = { 0 };
+        this.shardRouting.getIfAvailable(ShardRouting::unico).emCadaShard(() ->
+            this.jdbcTemplate.query(CARREGAR, rs -> {
+                agendar(estado, new Vencimento(rs.getObject("id", UUID.class), rs.getObject("id_user", UUID.class),
+                    rs.getObject("data_prevista_conclusao", LocalDate.class)), false);
+                tarefas[0]++;
+            }, de, ate));
+        log.debug("Tarefas com vencimento de {} a {}: {}", de, ate.minusDays(1), tarefas[0]);
+    }
+
+    /** Publica os vencimentos que passaram desde a última verificação. */
+    @Scheduled(fixedDelayString = "${todolist.tasks.overdue.tick:1s}")
+    public void verificar() {
+        var estado = this.estado;
+        if (estado == null) {
+            return;
+        }
+        var vencidos = estado.roda().avancar(estado.relogio().millis());
+        if (vencidos.isEmpty()) {
+            return;
+        }
+        var confirmados = confirmar(vencidos);
+        for (var vencimento : confirmados) {
+            this.eventPublisher.publishEvent(
+                new TaskOverdueEvent(vencimento.id(), vencimento.idUser(), vencimento.data()));
+        }
+        this.meterRegistry.ifAvailable(registry -> registry.counter("todolist.tasks.overdue").increment(confirmados.size()));
+        log.info("{} tarefas passaram da data prevista", confirmados.size());
+    }
+
+    /** Tarefas agendadas no momento. */
+    public int agendadas() {
+        var estado = this.estado;
+        return estado != null ? estado.roda().tamanho() : 0;
+    }
+
+    /** Começa (ou recomeça, nos testes com outro relógio) com a roda vazia e carrega o horizonte. */
+    synchronized void reiniciar(Clock relogio) {
+        this.estado = new Estado(new TimingWheel<>(this.tick.toMillis(), POSICOES, relogio.millis()),
+            LocalDate.now(relogio), relogio);
+        carregar();
+    }
+
+    private static void agendar(Estado estado, Vencimento vencimento, boolean concluida) {
+        if (estado == null) {
+            return;
+        }
+        var data = vencimento.data();
+        long prazo = data == null ? 0 : prazo(data, estado.relogio());
+        // Fora do horizonte fica para a próxima carga; já vencida não gera outro evento
+        if (concluida || data == null || !data.isBefore(estado.carregadoAte()) || prazo <= estado.relogio().millis()) {
+            estado.roda().cancelar(vencimento.id());
+        } else {
+            estado.roda().agendar(vencimento.id(), vencimento, prazo);
+        }
+    }
+
+    /** Fim do dia previsto: a partir daí a tarefa conta como atrasada. */
+    private static long prazo(LocalDate data, Clock relogio) {
+        return data.plusDays(1).atStartOfDay(relogio.getZone()).toInstant().toEpochMilli();
+    }
+
+    /** Mantém os que continuam não concluídos e com a mesma data, consultando cada shard pelo id. */
+    private List<Vencimento> confirmar(List<Vencimento> vencidos) {
+        var shards = this.shardRouting.getIfAvailable(ShardRouting::unico);
+        var porShard = new HashMap<String, List<Vencimento>>();
+        for (var vencimento : vencidos) {
+            porShard.computeIfAbsent(shards.shard(vencimento.idUser()), shard -> new ArrayList<>()).add(vencimento);
+        }
+        var confirmados = new ArrayList<Vencimento>();
+        porShard.forEach((shard, lista) -> shards.noShard(shard, () -> {
+            for (int inicio = 0; inicio < lista.size(); inicio += LOTE_CONFERENCIA) {
+                var lote = lista.subList(inicio, Math.min(inicio + LOTE_CONFERENCIA, lista.size()));
+                var atuais = new HashSet<Vencimento>();
+                this.jdbcTemplate.query(String.format(CONFERIR, String.join(", ", Collections.nCopies(lote.size(), "?"))),
+                    rs -> {
+                        atuais.add(new Vencimento(rs.getObject("id", UUID.class), null,
+                            rs.getObject("data_prevista_conclusao", LocalDate.class)));
+                    }, lote.stream().map(Vencimento::id).toArray());
+                for (var vencimento : lote) {
+                    if (atuais.contains(new Vencimento(vencimento.id(), null, vencimento.data()))) {
+                        confirmados.add(vencimento);
+                    }
+                }
+            }
+            return null;
+        }));
+        return confirmados;
+    }
+
+    record Vencimento(UUID id, UUID idUser, LocalDate data) {
+    }
+
+    /** Roda, datas já lidas do banco (de hoje, na subida, até carregadoAte, exclusive) e relógio. */
+    private record Estado(TimingWheel<UUID, Vencimento> roda, LocalDate carregadoAte, Clock relogio) {
+    }
+}
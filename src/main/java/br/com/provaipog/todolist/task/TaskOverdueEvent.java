@@ -0,0 +1,11 @@
+package br.com.provaipog.todolist.task;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Publicado por {@link TaskOverdueDetector} quando uma tarefa não concluída passa da data
+ * prevista. Ouvintes recebem com {@code @EventListener}, na thread do detector.
+ */
+public record TaskOverdueEvent(UUID id, UUID idUser, LocalDate dataPrevistaConclusao) {
+}
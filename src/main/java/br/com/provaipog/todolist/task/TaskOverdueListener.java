@@ -0,0 +1,30 @@
+package br.com.provaipog.todolist.task;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Entity listener de {@link TaskModel}: inserções e alterações reagendam a tarefa no
+ * {@link TaskOverdueDetector} e remoções a cancelam, depois do commit.
+ * Como em TaskCacheInvalidator, o estado fica no bean injetado.
+ */
+public class TaskOverdueListener {
+
+    @Autowired
+    private ObjectProvider<TaskOverdueDetector> taskOverdueDetector;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(TaskModel task) {
+        this.taskOverdueDetector.ifAvailable(detector -> detector.registrar(task));
+    }
+
+    @PostRemove
+    public void onRemove(TaskModel task) {
+        this.taskOverdueDetector.ifAvailable(detector -> detector.remover(task.getId()));
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.provaipog.todolist.task;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import br.com.provaipog.todolist.config.ShardDataSourceConfig.ShardDataSource;
+import br.com.provaipog.todolist.utils.ShardRouting;
+
+/**
+ * Com shards, as leituras de tarefas só veem o shard do usuário da requisição, e a tarefa
+ * de um usuário de outro shard simplesmente não aparece. Para manter o 403 de quando não
+ * há shards, os controllers perguntam aqui o dono das tarefas não encontradas, lendo os
+ * demais shards direto dos pools (fora da transação da requisição, presa ao shard do
+ * usuário). Sem shards não há o que consultar.
+ */
+@Component
+public class TaskOwnerLookup {
+
+    private static final String DONOS = "SELECT id, id_user FROM tb_tasks WHERE id IN (%s)";
+
+    @Autowired
+    private ObjectProvider<ShardRouting> shardRouting;
+
+    @Autowired
+    private ObjectProvider<ShardDataSource> shardDataSource;
+
+    public Optional<UUID> donoEmOutroShard(UUID id) {
+        return Optional.ofNullable(donosEmOutrosShards(List.of(id)).get(id));
+    }
+
+    /** Dono de cada id encontrado fora do shard atual; ids que não existem em lugar nenhum ficam de fora. */
+    public Map<UUID, UUID> donosEmOutrosShards(Collection<UUID> ids) {
+        var donos = new HashMap<UUID, UUID>();
+        var pools = this.shardDataSource.getIfAvailable();
+        if (pools == null || ids.isEmpty()) {
+            return donos;
+        }
+        var shards = this.shardRouting.getObject();
+        var atual = shards.atual();
+        var sql = String.format(DONOS, String.join(", ", Collections.nCopies(ids.size(), "?")));
+        for (var shard : shards.shards()) {
+            if (!shard.equals(atual)) {
+                new JdbcTemplate(pools.pool(shard)).query(sql,
+                    rs -> {
+                        donos.put(rs.getObject("id", UUID.class), rs.getObject("id_user", UUID.class));
+                    }, ids.toArray());
+            }
+        }
+        return donos;
+    }
+}
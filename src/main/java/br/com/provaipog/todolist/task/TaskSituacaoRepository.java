@@ -0,0 +1,14 @@
+package br.com.provaipog.todolist.task;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface TaskSituacaoRepository {
+
+    /**
+     * Troca a situação da tarefa só se ela for do usuário e ainda não estiver na situação
+     * pedida, num único UPDATE atômico. Retorna a tarefa já alterada ou vazio quando
+     * nenhuma linha atendeu às condições.
+     */
+    Optional<TaskModel> alterarSituacao(UUID id, UUID idUser, Situation situacao);
+}
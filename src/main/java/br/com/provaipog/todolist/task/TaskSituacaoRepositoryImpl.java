@@ -0,0 +1,54 @@
+package br.com.provaipog.todolist.task;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+class TaskSituacaoRepositoryImpl implements TaskSituacaoRepository {
+
+    // OLD TABLE (H2) devolve as linhas alteradas pelo próprio UPDATE, como estavam antes dele:
+    // o estado anterior dos contadores vem do mesmo comando, sem um SELECT a mais
+    private static final String ALTERAR_SITUACAO = "SELECT * FROM OLD TABLE (UPDATE tb_tasks SET situacao = ?1 "
+        + "WHERE id = ?2 AND id_user = ?3 AND situacao <> ?1)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Opcional como em TaskCacheInvalidator: testes de repositório não carregam os componentes
+    @Autowired
+    private ObjectProvider<TaskStatsUpdater> taskStatsUpdater;
+
+    @Autowired
+    private ObjectProvider<TaskOverdueDetector> taskOverdueDetector;
+
+    @Override
+    @Transactional
+    public Optional<TaskModel> alterarSituacao(UUID id, UUID idUser, Situation situacao) {
+        // O UPDATE nativo não passa pelos entity listeners: contadores e vencimentos são ajustados aqui
+        var linhas = this.entityManager.createNativeQuery(ALTERAR_SITUACAO, TaskModel.class)
+            .setParameter(1, situacao.name())
+            .setParameter(2, id)
+            .setParameter(3, idUser)
+            .getResultList();
+        if (linhas.isEmpty()) {
+            return Optional.empty();
+        }
+        // Antes da consulta o Hibernate grava o que estiver pendente, então mesmo uma instância que
+        // já estava no contexto tem o estado anterior ao UPDATE. Fora do contexto, a troca da
+        // situação em memória não gera outro UPDATE no flush
+        var task = (TaskModel) linhas.get(0);
+        var anterior = TaskStatsUpdater.Contagem.de(task);
+        this.entityManager.detach(task);
+        task.setSituacao(situacao);
+        this.taskStatsUpdater.ifAvailable(stats -> stats.aplicar(List.of(anterior), List.of(TaskStatsUpdater.Contagem.de(task))));
+        this.taskOverdueDetector.ifAvailable(detector -> detector.registrar(task));
+        return Optional.of(task);
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.provaipog.todolist.task;
+
+import java.util.UUID;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Predicados da listagem de tarefas para consultas via Criteria
+ * (mesma semântica de {@link ITaskRepository#findByIdUserWithFilters}).
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<TaskModel> comFiltros(UUID idUser, String nome, Priority prioridade, Situation situacao) {
+        return (root, query, cb) -> {
+            Predicate predicate = cb.equal(root.get("idUser"), idUser);
+            if (nome != null) {
+                predicate = cb.and(predicate,
+                    cb.like(cb.lower(root.get("nome")), cb.lower(cb.literal("%" + nome + "%"))));
+
+                var trigramas = TaskTrigrams.doFiltro(nome);
+                if (!trigramas.isEmpty()) {
+                    // Candidatas pelo índice de trigramas (ver ITaskRepository.FILTROS)
+                    var sub = query.subquery(UUID.class);
+                    var g = sub.from(TaskTrigram.class);
+                    sub.select(g.get("taskId"))
+                        .where(g.get("trigram").in(trigramas), cb.equal(g.get("idUser"), idUser))
+                        .groupBy(g.get("taskId"))
+                        .having(cb.equal(cb.count(g.get("trigram")), (long) trigramas.size()));
+                    predicate = cb.and(predicate, root.get("id").in(sub));
+                }
+            }
+            if (prioridade != null) {
+                predicate = cb.and(predicate, cb.equal(root.get("prioridade"), prioridade));
+            }
+            if (situacao != null) {
+                predicate = cb.and(predicate, cb.equal(root.get("situacao"), situacao));
+            }
+            return predicate;
+        };
+    }
+
+    /**
+     * Ordenação da listagem por (campo, id). O idUser vai à frente (é constante na consulta)
+     * porque o H2 só reconhece um índice como já ordenado quando o ORDER BY começa
+     * pela primeira coluna dele, e todos os índices de tb_tasks começam por id_user.
+     */
+    public static Sort ordenacao(Sort.Direction direcao, String campo) {
+        return Sort.by(direcao, "idUser", campo, "id");
+    }
+
+    /**
+     * Ordenação para {@link #comFiltros}: quando o filtro por nome usa o índice de trigramas
+     * o idUser sai da frente, senão o H2 prefere o índice ordenado e filtra todas as tarefas
+     * do usuário em vez de buscar só as candidatas.
+     */
+    public static Sort ordenacao(Sort.Direction direcao, String campo, String nome) {
+        return TaskTrigrams.doFiltro(nome).isEmpty() ? ordenacao(direcao, campo) : Sort.by(direcao, campo, "id");
+    }
+
+    /**
+     * Predicado de seek sobre (campo, id) para continuar depois do cursor.
+     * Segue a ordenação de nulos padrão do H2: nulos primeiro em ASC e por último em DESC.
+     */
+    public static Specification<TaskModel> aposCursor(TaskCursor cursor) {
+        return (root, query, cb) -> {
+            Expression<Comparable<Object>> campo = root.get(cursor.campo());
+            Expression<UUID> id = root.get("id");
+            boolean asc = cursor.direcao() == Sort.Direction.ASC;
+            Predicate desempate = asc ? cb.greaterThan(id, cursor.id()) : cb.lessThan(id, cursor.id());
+
+            if (cursor.valor() == null) {
+                var mesmoValor = cb.and(cb.isNull(campo), desempate);
+                return asc ? cb.or(mesmoValor, cb.isNotNull(campo)) : mesmoValor;
+            }
+
+            var valor = comparavel(cursor.valor());
+            var mesmoValor = cb.and(cb.equal(campo, valor), desempate);
+            var depois = asc ? cb.greaterThan(campo, valor) : cb.lessThan(campo, valor);
+            var seek = cb.or(depois, mesmoValor);
+            return asc ? seek : cb.or(seek, cb.isNull(campo));
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> comparavel(Object valor) {
+        return (Comparable<Object>) valor;
+    }
+}
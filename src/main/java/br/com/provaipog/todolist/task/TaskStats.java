@@ -0,0 +1,43 @@
+package br.com.provaipog.todolist.task;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Contadores das tarefas de cada usuário por situação e prioridade, mantidos por
+ * {@link TaskStatsUpdater} na mesma transação de cada escrita de {@link TaskModel}.
+ */
+@Data
+@Entity(name = "tb_task_stats")
+@Table(name = "tb_task_stats")
+public class TaskStats {
+
+    @Id
+    private UUID idUser;
+
+    @Column(nullable = false)
+    private long total;
+
+    @Column(nullable = false)
+    private long abertas;
+
+    @Column(nullable = false)
+    private long pendentes;
+
+    @Column(nullable = false)
+    private long concluidas;
+
+    @Column(nullable = false)
+    private long baixa;
+
+    @Column(nullable = false)
+    private long media;
+
+    @Column(nullable = false)
+    private long alta;
+}
@@ -0,0 +1,16 @@
+package br.com.provaipog.todolist.task;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TaskStatsResponse {
+    private long total;
+    private Map<Situation, Long> porSituacao;
+    private Map<Priority, Long> porPrioridade;
+    /** Não concluídas com data prevista anterior a hoje. */
+    private long atrasadas;
+}
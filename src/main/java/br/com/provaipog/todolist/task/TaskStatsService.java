@@ -0,0 +1,169 @@
+package br.com.provaipog.todolist.task;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.provaipog.todolist.utils.ShardRouting;
+
+/**
+ * Consulta dos contadores mantidos por {@link TaskStatsUpdater} e reparo periódico
+ * que os recalcula a partir de tb_tasks (corrige qualquer escrita que tenha passado
+ * por fora dos listeners). O reparo anda por faixas de usuários, cada uma na sua
+ * transação, para bloquear só os contadores da faixa enquanto ela é recalculada.
+ */
+@Service
+public class TaskStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatsService.class);
+
+    private static final String CONTADORES = "SELECT total, abertas, pendentes, concluidas, baixa, media, alta "
+        + "FROM tb_task_stats WHERE id_user = ?";
+    private static final String ATRASADAS = "SELECT COALESCE(SUM(quantidade), 0) FROM tb_task_stats_vencimentos "
+        + "WHERE id_user = ? AND data < ?";
+
+    private static final String CONTAR = "INSERT INTO tb_task_stats "
+        + "(id_user, total, abertas, pendentes, concluidas, baixa, media, alta) "
+        + "SELECT id_user, COUNT(*), "
+        + "SUM(CASE WHEN situacao = 'ABERTA' THEN 1 ELSE 0 END), "
+        + "SUM(CASE WHEN situacao = 'PENDENTE' THEN 1 ELSE 0 END), "
+        + "SUM(CASE WHEN situacao = 'CONCLUIDA' THEN 1 ELSE 0 END), "
+        + "SUM(CASE WHEN prioridade = 'BAIXA' THEN 1 ELSE 0 END), "
+        + "SUM(CASE WHEN prioridade = 'MEDIA' THEN 1 ELSE 0 END), "
+        + "SUM(CASE WHEN prioridade = 'ALTA' THEN 1 ELSE 0 END) "
+        + "FROM tb_tasks ";
+    private static final String RECALCULAR_FAIXA = CONTAR + "WHERE id_user BETWEEN ? AND ? GROUP BY id_user";
+    private static final String RECALCULAR_USUARIO = CONTAR + "WHERE id_user = ? GROUP BY id_user";
+    private static final String CONTAR_VENCIMENTOS = "INSERT INTO tb_task_stats_vencimentos "
+        + "(id_user, data, quantidade) "
+        + "SELECT id_user, data_prevista_conclusao, COUNT(*) FROM tb_tasks ";
+    private static final String RECALCULAR_VENCIMENTOS_FAIXA = CONTAR_VENCIMENTOS
+        + "WHERE id_user BETWEEN ? AND ? AND situacao <> 'CONCLUIDA' GROUP BY id_user, data_prevista_conclusao";
+    private static final String RECALCULAR_VENCIMENTOS_USUARIO = CONTAR_VENCIMENTOS
+        + "WHERE id_user = ? AND situacao <> 'CONCLUIDA' GROUP BY id_user, data_prevista_conclusao";
+
+    // Usuários com tarefas ou com contadores (que podem ter sobrado de tarefas apagadas por fora)
+    private static final String USUARIOS = "SELECT id_user FROM tb_tasks WHERE id_user > ? "
+        + "UNION SELECT id_user FROM tb_task_stats WHERE id_user > ? "
+        + "UNION SELECT id_user FROM tb_task_stats_vencimentos WHERE id_user > ? "
+        + "ORDER BY id_user LIMIT ?";
+    // UUID nulo: o banco compara os bits sem sinal, então ele vem antes de qualquer id
+    private static final UUID MENOR_ID = new UUID(0, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${todolist.tasks.stats.repair-batch-size:200}")
+    private int usuariosPorTransacao;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectProvider<ShardRouting> shardRouting;
+
+    /** Duas leituras pela chave primária, independentes da quantidade de tarefas. */
+    @Transactional(readOnly = true)
+    public TaskStatsResponse consultar(UUID idUser) {
+        var porSituacao = new EnumMap<Situation, Long>(Situation.class);
+        var porPrioridade = new EnumMap<Priority, Long>(Priority.class);
+        long[] total = { 0 };
+        this.jdbcTemplate.query(CONTADORES, rs -> {
+            total[0] = rs.getLong("total");
+            porSituacao.put(Situation.ABERTA, rs.getLong("abertas"));
+            porSituacao.put(Situation.PENDENTE, rs.getLong("pendentes"));
+            porSituacao.put(Situation.CONCLUIDA, rs.getLong("concluidas"));
+            porPrioridade.put(Priority.BAIXA, rs.getLong("baixa"));
+            porPrioridade.put(Priority.MEDIA, rs.getLong("media"));
+            porPrioridade.put(Priority.ALTA, rs.getLong("alta"));
+        }, idUser);
+        for (var situacao : Situation.values()) {
+            porSituacao.putIfAbsent(situacao, 0L);
+        }
+        for (var prioridade : Priority.values()) {
+            porPrioridade.putIfAbsent(prioridade, 0L);
+        }
+        Long atrasadas = this.jdbcTemplate.queryForObject(ATRASADAS, Long.class, idUser, LocalDate.now());
+        return new TaskStatsResponse(total[0], porSituacao, porPrioridade, atrasadas == null ? 0 : atrasadas);
+    }
+
+    /**
+     * Recalcula os contadores de todos os usuários de cada shard. Escritas concorrentes na
+     * faixa em reparo esperam pelos bloqueios das linhas apagadas e aplicam a diferença
+     * delas depois; as das outras faixas não esperam.
+     */
+    @Scheduled(initialDelayString = "${todolist.tasks.stats.repair-interval:1h}",
+        fixedDelayString = "${todolist.tasks.stats.repair-interval:1h}")
+    public void reparar() {
+        this.shardRouting.getIfAvailable(ShardRouting::unico).emCadaShard(() -> {
+            long inicio = System.nanoTime();
+            int usuarios = recalcular();
+            log.info("Contadores de tarefas recalculados para {} usuários em {} ms",
+                usuarios, (System.nanoTime() - inicio) / 1_000_000);
+        });
+    }
+
+    /** Banco persistente com tarefas gravadas antes das tabelas de contadores existirem. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recalcularSeVazio() {
+        this.shardRouting.getIfAvailable(ShardRouting::unico).emCadaShard(() -> {
+            var contadores = this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_task_stats", Long.class);
+            if (contadores != null && contadores > 0) {
+                return;
+            }
+            int usuarios = recalcular();
+            if (usuarios > 0) {
+                log.info("Contadores de tarefas calculados para {} usuários", usuarios);
+            }
+        });
+    }
+
+    /** Contadores de um usuário a partir das tarefas dele (ex.: depois de mudar de shard). */
+    @Transactional
+    public void recalcularUsuario(UUID idUser) {
+        this.jdbcTemplate.update("DELETE FROM tb_task_stats WHERE id_user = ?", idUser);
+        this.jdbcTemplate.update("DELETE FROM tb_task_stats_vencimentos WHERE id_user = ?", idUser);
+        this.jdbcTemplate.update(RECALCULAR_USUARIO, idUser);
+        this.jdbcTemplate.update(RECALCULAR_VENCIMENTOS_USUARIO, idUser);
+    }
+
+    /**
+     * Recalcula o shard atual em faixas de até usuariosPorTransacao usuários consecutivos,
+     * uma transação por faixa. Devolve quantos usuários ficaram com contadores.
+     */
+    private int recalcular() {
+        int usuarios = 0;
+        var ultimo = MENOR_ID;
+        while (true) {
+            var faixa = this.jdbcTemplate.queryForList(USUARIOS, UUID.class,
+                ultimo, ultimo, ultimo, this.usuariosPorTransacao);
+            if (faixa.isEmpty()) {
+                return usuarios;
+            }
+            var primeiro = faixa.get(0);
+            ultimo = faixa.get(faixa.size() - 1);
+            var ate = ultimo;
+            Integer recalculados = this.transactionTemplate.execute(status -> {
+                this.jdbcTemplate.update("DELETE FROM tb_task_stats WHERE id_user BETWEEN ? AND ?", primeiro, ate);
+                this.jdbcTemplate.update("DELETE FROM tb_task_stats_vencimentos WHERE id_user BETWEEN ? AND ?", primeiro, ate);
+                int linhas = this.jdbcTemplate.update(RECALCULAR_FAIXA, primeiro, ate);
+                this.jdbcTemplate.update(RECALCULAR_VENCIMENTOS_FAIXA, primeiro, ate);
+                return linhas;
+            });
+            usuarios += recalculados == null ? 0 : recalculados;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package br.com.provaipog.todolist.task;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PreRemove;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Entity listener de {@link TaskModel} que mantém os contadores de {@link TaskStats} e
+ * {@link TaskStatsVencimento} na mesma transação da escrita, aplicando só a diferença
+ * entre o estado anterior e o novo de cada tarefa. Como em {@link TaskTrigramIndexer},
+ * usa JDBC direto.
+ *
+ * <p>Na alteração e na remoção o estado anterior é o que a entidade tinha quando foi lida
+ * (ou gravada pela última vez), guardado nela como em {@link TaskModel#getNomeIndexado()}.
+ * Uma instância destacada passa pelo merge, que lê a linha atual antes de copiar as
+ * alterações. Duas transações que alteram a mesma tarefa a partir da mesma leitura já
+ * perdem uma das escritas na própria tarefa; a diferença que isso deixa nos contadores é
+ * corrigida pelo reparo de {@link TaskStatsService}.
+ */
+@Component
+public class TaskStatsUpdater {
+
+    private static final String ATUAL = "SELECT id_user, situacao, prioridade, data_prevista_conclusao "
+        + "FROM tb_tasks WHERE id = ? FOR UPDATE";
+    // Soma as diferenças na linha existente ou cria a linha, num só comando (ver somar)
+    private static final String SOMAR = "MERGE INTO tb_task_stats t USING (VALUES (CAST(? AS BIGINT), "
+        + "CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), "
+        + "CAST(? AS BIGINT), CAST(? AS UUID))) d (total, abertas, pendentes, concluidas, baixa, media, alta, id_user) "
+        + "ON t.id_user = d.id_user "
+        + "WHEN MATCHED THEN UPDATE SET total = t.total + d.total, abertas = t.abertas + d.abertas, "
+        + "pendentes = t.pendentes + d.pendentes, concluidas = t.concluidas + d.concluidas, "
+        + "baixa = t.baixa + d.baixa, media = t.media + d.media, alta = t.alta + d.alta "
+        + "WHEN NOT MATCHED THEN INSERT (id_user, total, abertas, pendentes, concluidas, baixa, media, alta) "
+        + "VALUES (d.id_user, d.total, d.abertas, d.pendentes, d.concluidas, d.baixa, d.media, d.alta)";
+    private static final String SOMAR_VENCIMENTO = "MERGE INTO tb_task_stats_vencimentos t USING (VALUES "
+        + "(CAST(? AS BIGINT), CAST(? AS UUID), CAST(? AS DATE))) d (quantidade, id_user, data) "
+        + "ON t.id_user = d.id_user AND t.data = d.data "
+        + "WHEN MATCHED THEN UPDATE SET quantidade = t.quantidade + d.quantidade "
+        + "WHEN NOT MATCHED THEN INSERT (id_user, data, quantidade) VALUES (d.id_user, d.data, d.quantidade)";
+
+    private static final Comparator<TaskStatsVencimento.Key> ORDEM_VENCIMENTOS = Comparator
+        .comparing(TaskStatsVencimento.Key::getIdUser).thenComparing(TaskStatsVencimento.Key::getData);
+
+    // Posições no vetor de contadores de cada usuário, na ordem das colunas de SOMAR
+    private static final int TOTAL = 0;
+    private static final int SITUACOES = 1;
+    private static final int PRIORIDADES = SITUACOES + Situation.values().length;
+    private static final int TENTATIVAS = 2;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostLoad
+    public void onLoad(TaskModel task) {
+        task.setContagemGravada(Contagem.de(task));
+    }
+
+    @PostPersist
+    public void onPersist(TaskModel task) {
+        aplicar(List.of(), List.of(Contagem.de(task)));
+        task.setContagemGravada(Contagem.de(task));
+    }
+
+    @PreUpdate
+    public void onUpdate(TaskModel task) {
+        aplicar(gravada(task), List.of(Contagem.de(task)));
+    }
+
+    @PostUpdate
+    public void onUpdated(TaskModel task) {
+        task.setContagemGravada(Contagem.de(task));
+    }
+
+    @PreRemove
+    public void onRemove(TaskModel task) {
+        aplicar(gravada(task), List.of());
+    }
+
+    /** Conta tarefas gravadas sem passar pelo JPA (ex.: importação via JDBC), na mesma transação. */
+    void registrar(List<TaskModel> tarefas) {
+        aplicar(List.of(), tarefas.stream().map(Contagem::de).toList());
+    }
+
+    /**
+     * Estado da tarefa quando foi lida ou gravada. Sem ele (instância que não veio do
+     * EntityManager), lê a linha atual com {@code FOR UPDATE}.
+     */
+    private List<Contagem> gravada(TaskModel task) {
+        if (task.getContagemGravada() != null) {
+            return List.of(task.getContagemGravada());
+        }
+        return this.jdbcTemplate.query(ATUAL, (rs, i) -> new Contagem(
+            rs.getObject("id_user", UUID.class),
+            Situation.valueOf(rs.getString("situacao")),
+            Priority.valueOf(rs.getString("prioridade")),
+            rs.getObject("data_prevista_conclusao", LocalDate.class)), task.getId());
+    }
+
+    /**
+     * Desconta as tarefas {@code removidas} e soma as {@code adicionadas}, agrupando por
+     * usuário e por data; diferenças nulas não geram escrita. As linhas são gravadas
+     * sempre na ordem das chaves, para duas transações não se bloquearem em ordem inversa.
+     */
+    void aplicar(List<Contagem> removidas, List<Contagem> adicionadas) {
+        var contadores = new TreeMap<UUID, long[]>();
+        var vencimentos = new TreeMap<TaskStatsVencimento.Key, Long>(ORDEM_VENCIMENTOS);
+        acumular(removidas, -1, contadores, vencimentos);
+        acumular(adicionadas, 1, contadores, vencimentos);
+
+        for (Map.Entry<UUID, long[]> entrada : contadores.entrySet()) {
+            var valores = entrada.getValue();
+            if (isZero(valores)) {
+                continue;
+            }
+            var parametros = new Object[valores.length + 1];
+            for (int i = 0; i < valores.length; i++) {
+                parametros[i] = valores[i];
+            }
+            parametros[valores.length] = entrada.getKey();
+            somar(SOMAR, parametros);
+        }
+        for (var entrada : vencimentos.entrySet()) {
+            if (entrada.getValue() == 0) {
+                continue;
+            }
+            var chave = entrada.getKey();
+            somar(SOMAR_VENCIMENTO, entrada.getValue(), chave.getIdUser(), chave.getData());
+        }
+    }
+
+    /**
+     * Executa o MERGE. Se outra transação inseriu a mesma chave e ainda não confirmou, o
+     * MERGE espera o bloqueio dela, mas já tinha decidido inserir e falha com chave
+     * duplicada. Como a falha desfaz só o comando, ele é repetido uma vez e vira UPDATE
+     * da linha agora confirmada; se falhar de novo, a exceção sobe e desfaz a escrita.
+     */
+    private void somar(String sql, Object... parametros) {
+        for (int tentativa = 1;; tentativa++) {
+            try {
+                this.jdbcTemplate.update(sql, parametros);
+                return;
+            } catch (DuplicateKeyException e) {
+                if (tentativa >= TENTATIVAS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static void acumular(List<Contagem> tarefas, int sinal, Map<UUID, long[]> contadores,
+            Map<TaskStatsVencimento.Key, Long> vencimentos) {
+        for (var tarefa : tarefas) {
+            if (tarefa.idUser() == null) {
+                continue;
+            }
+            var valores = contadores.computeIfAbsent(tarefa.idUser(), id -> new long[PRIORIDADES + Priority.values().length]);
+            valores[TOTAL] += sinal;
+            if (tarefa.situacao() != null) {
+                valores[SITUACOES + tarefa.situacao().ordinal()] += sinal;
+            }
+            if (tarefa.prioridade() != null) {
+                valores[PRIORIDADES + tarefa.prioridade().ordinal()] += sinal;
+            }
+            if (tarefa.situacao() != Situation.CONCLUIDA && tarefa.data() != null) {
+                vencimentos.merge(new TaskStatsVencimento.Key(tarefa.idUser(), tarefa.data()), (long) sinal, Long::sum);
+            }
+        }
+    }
+
+    private static boolean isZero(long[] valores) {
+        for (long valor : valores) {
+            if (valor != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** O que uma tarefa soma aos contadores do dono. */
+    record Contagem(UUID idUser, Situation situacao, Priority prioridade, LocalDate data) {
+
+        static Contagem de(TaskModel task) {
+            return new Contagem(task.getIdUser(), task.getSituacao(), task.getPrioridade(),
+                task.getDataPrevistaConclusao());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.provaipog.todolist.task;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Tarefas não concluídas de cada usuário por data prevista de conclusão. As atrasadas
+ * são a soma das datas anteriores a hoje, lidas pela chave primária (id_user, data).
+ */
+@Data
+@Entity(name = "tb_task_stats_vencimentos")
+@Table(name = "tb_task_stats_vencimentos")
+@IdClass(TaskStatsVencimento.Key.class)
+public class TaskStatsVencimento {
+
+    @Id
+    private UUID idUser;
+
+    @Id
+    private LocalDate data;
+
+    @Column(nullable = false)
+    private long quantidade;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID idUser;
+        private LocalDate data;
+    }
+}
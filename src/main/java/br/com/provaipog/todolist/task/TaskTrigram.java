@@ -0,0 +1,48 @@
+package br.com.provaipog.todolist.task;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Trigramas do nome das tarefas, usados pelo filtro por nome da listagem.
+ * Mantido por {@link TaskTrigramIndexer} a cada escrita de {@link TaskModel}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity(name = "tb_task_trigrams")
+@Table(name = "tb_task_trigrams", indexes = {
+    // trigram primeiro: o H2 só usa uma lista IN como busca no índice na primeira coluna dele
+    @Index(name = "idx_trigrams_trigrama_usuario", columnList = "trigram, id_user, task_id")
+})
+@IdClass(TaskTrigram.Key.class)
+public class TaskTrigram {
+
+    @Id
+    @Column(nullable = false)
+    private UUID taskId;
+
+    @Id
+    @Column(nullable = false, length = 3)
+    private String trigram;
+
+    private UUID idUser;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID taskId;
+        private String trigram;
+    }
+}
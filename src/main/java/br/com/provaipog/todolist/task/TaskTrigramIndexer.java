@@ -0,0 +1,150 @@
+package br.com.provaipog.todolist.task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.provaipog.todolist.utils.ShardRouting;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Entity listener de {@link TaskModel} que mantém tb_task_trigrams na mesma transação
+ * da escrita da tarefa. Usa JDBC direto porque o spec JPA não permite operações do
+ * EntityManager dentro de callbacks. Na alteração só regrava os trigramas se o nome mudou
+ * desde a leitura (ou a última gravação) da entidade.
+ */
+@Component
+public class TaskTrigramIndexer {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskTrigramIndexer.class);
+
+    private static final String INSERT = "INSERT INTO tb_task_trigrams (task_id, trigram, id_user) VALUES (?, ?, ?)";
+    private static final String DELETE = "DELETE FROM tb_task_trigrams WHERE task_id = ?";
+    private static final String PAGINA_INICIAL = "SELECT id, nome, id_user FROM tb_tasks ORDER BY id LIMIT ?";
+    private static final String PAGINA_SEGUINTE = "SELECT id, nome, id_user FROM tb_tasks WHERE id > ? ORDER BY id LIMIT ?";
+    private static final int PAGINA_REINDEXACAO = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Provider: o listener é criado junto com o EntityManagerFactory, antes do transactionManager
+    @Autowired
+    private ObjectProvider<TransactionTemplate> transactionTemplate;
+
+    @Autowired
+    private ObjectProvider<ShardRouting> shardRouting;
+
+    @PostLoad
+    public void onLoad(TaskModel task) {
+        task.setNomeIndexado(task.getNome());
+    }
+
+    @PostPersist
+    public void onPersist(TaskModel task) {
+        inserir(task);
+        task.setNomeIndexado(task.getNome());
+    }
+
+    @PostUpdate
+    public void onUpdate(TaskModel task) {
+        if (Objects.equals(task.getNome(), task.getNomeIndexado())) {
+            return;
+        }
+        this.jdbcTemplate.update(DELETE, task.getId());
+        inserir(task);
+        task.setNomeIndexado(task.getNome());
+    }
+
+    @PostRemove
+    public void onRemove(TaskModel task) {
+        this.jdbcTemplate.update(DELETE, task.getId());
+    }
+
+    /**
+     * Reconstrói o índice quando há tarefas sem trigramas (ex.: banco persistente criado
+     * antes da tabela existir), numa transação por shard. Lê as tarefas em páginas por id
+     * para não carregar a tabela inteira em memória.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reindexarSeVazio() {
+        this.shardRouting.getIfAvailable(ShardRouting::unico).emCadaShard(() ->
+            this.transactionTemplate.getObject().executeWithoutResult(status -> reindexar()));
+    }
+
+    private void reindexar() {
+        var trigramas = this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_task_trigrams", Long.class);
+        if (trigramas != null && trigramas > 0) {
+            return;
+        }
+        long entradas = 0;
+        Object ultimoId = null;
+        while (true) {
+            var pagina = ultimoId == null
+                ? this.jdbcTemplate.queryForList(PAGINA_INICIAL, PAGINA_REINDEXACAO)
+                : this.jdbcTemplate.queryForList(PAGINA_SEGUINTE, ultimoId, PAGINA_REINDEXACAO);
+            if (pagina.isEmpty()) {
+                break;
+            }
+            var linhas = new ArrayList<Object[]>();
+            for (var tarefa : pagina) {
+                for (String trigrama : TaskTrigrams.of((String) tarefa.get("NOME"))) {
+                    linhas.add(new Object[] { tarefa.get("ID"), trigrama, tarefa.get("ID_USER") });
+                }
+            }
+            if (!linhas.isEmpty()) {
+                this.jdbcTemplate.batchUpdate(INSERT, linhas);
+            }
+            entradas += linhas.size();
+            ultimoId = pagina.get(pagina.size() - 1).get("ID");
+        }
+        if (entradas > 0) {
+            log.info("Índice de trigramas reconstruído: {} entradas", entradas);
+        }
+    }
+
+    /**
+     * Indexa tarefas gravadas sem passar pelo JPA (ex.: importação via JDBC), num único
+     * batch. Deve rodar na mesma transação dos INSERTs das tarefas.
+     */
+    void indexar(List<TaskModel> tarefas) {
+        List<Object[]> linhas = new ArrayList<>();
+        for (var task : tarefas) {
+            for (String trigrama : TaskTrigrams.of(task.getNome())) {
+                linhas.add(new Object[] { task.getId(), trigrama, task.getIdUser() });
+            }
+        }
+        if (!linhas.isEmpty()) {
+            this.jdbcTemplate.batchUpdate(INSERT, linhas);
+        }
+    }
+
+    /**
+     * Regrava os trigramas de tarefas renomeadas sem passar pelo JPA (ex.: PATCH em lote),
+     * num batch de DELETEs e um de INSERTs. Deve rodar na mesma transação dos UPDATEs.
+     */
+    void substituir(List<TaskModel> tarefas) {
+        if (tarefas.isEmpty()) {
+            return;
+        }
+        this.jdbcTemplate.batchUpdate(DELETE, tarefas.stream().map(task -> new Object[] { task.getId() }).toList());
+        indexar(tarefas);
+    }
+
+    private void inserir(TaskModel task) {
+        indexar(List.of(task));
+    }
+}
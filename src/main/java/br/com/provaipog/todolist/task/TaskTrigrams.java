@@ -0,0 +1,39 @@
+package br.com.provaipog.todolist.task;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+public final class TaskTrigrams {
+
+    private TaskTrigrams() {
+    }
+
+    /**
+     * Trigramas distintos do texto em minúsculas, com {@link Locale#ROOT}: o índice e os
+     * filtros dão o mesmo resultado qualquer que seja o locale padrão da JVM.
+     */
+    public static Set<String> of(String texto) {
+        var trigramas = new LinkedHashSet<String>();
+        if (texto == null) {
+            return trigramas;
+        }
+        var minusculo = texto.toLowerCase(Locale.ROOT);
+        for (int i = 0; i + 3 <= minusculo.length(); i++) {
+            trigramas.add(minusculo.substring(i, i + 3));
+        }
+        return trigramas;
+    }
+
+    /**
+     * Trigramas exigidos para um filtro "contém", ou vazio quando o índice não pode ser usado:
+     * termo com menos de 3 caracteres ou com curingas/escape do LIKE (%, _ e \).
+     */
+    public static Set<String> doFiltro(String nome) {
+        if (nome == null || nome.length() < 3
+                || nome.indexOf('%') >= 0 || nome.indexOf('_') >= 0 || nome.indexOf('\\') >= 0) {
+            return Set.of();
+        }
+        return of(nome);
+    }
+}
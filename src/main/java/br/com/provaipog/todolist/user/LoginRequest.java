@@ -0,0 +1,9 @@
+package br.com.provaipog.todolist.user;
+
+import lombok.Data;
+
+@Data
+public class LoginRequest {
+    private String username;
+    private String password;
+}
@@ -0,0 +1,14 @@
+package br.com.provaipog.todolist.user;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class LoginResponse {
+    private String token;
+    private String type;
+    private Instant expiresAt;
+}
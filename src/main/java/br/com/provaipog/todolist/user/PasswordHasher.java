@@ -0,0 +1,91 @@
+package br.com.provaipog.todolist.user;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import at.favre.lib.crypto.bcrypt.BCrypt;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Executa o hash BCrypt das senhas fora das threads do Tomcat, em um pool
+ * de tamanho fixo e fila limitada. Com a fila cheia a submissão é rejeitada
+ * com {@link java.util.concurrent.RejectedExecutionException} (respondida com 503).
+ * A verificação (login e autenticação Basic) roda na thread de quem chama; as duas
+ * operações são medidas no timer {@code todolist.bcrypt} (tag {@code operation}). O hash
+ * também é medido da submissão ao fim, com a espera na fila, em {@code todolist.bcrypt.latency},
+ * e o pool em {@code executor*{name="password-hasher"}}.
+ */
+@Component
+public class PasswordHasher {
+
+    private static final int COST = 12;
+
+    private final ExecutorService executor;
+
+    private final Timer hashTimer;
+    private final Timer hashLatencyTimer;
+    private final Timer verifyTimer;
+
+    public PasswordHasher(
+            @Value("${todolist.auth.hashing.threads:0}") int threads,
+            @Value("${todolist.auth.hashing.queue-capacity:100}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        var counter = new AtomicInteger();
+        var pool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                var thread = new Thread(runnable, "password-hasher-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        // Além dos gauges do pool, mede a execução e a espera de cada tarefa (executor, executor.idle)
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "password-hasher");
+        this.hashTimer = bcryptTimer(meterRegistry, "hash");
+        this.verifyTimer = bcryptTimer(meterRegistry, "verify");
+        this.hashLatencyTimer = Timer.builder("todolist.bcrypt.latency")
+            .description("Da submissão ao fim do hash BCrypt, com a espera na fila")
+            .tag("operation", "hash")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private static Timer bcryptTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("todolist.bcrypt")
+            .description("Tempo de CPU do BCrypt, sem a espera na fila")
+            .tag("operation", operation)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    public CompletableFuture<String> hash(String password) {
+        long submittedAt = System.nanoTime();
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return this.hashTimer.record(() -> BCrypt.withDefaults().hashToString(COST, password.toCharArray()));
+            } finally {
+                this.hashLatencyTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+            }
+        }, this.executor);
+    }
+
+    public boolean verify(String password, String hash) {
+        return this.verifyTimer.record(() -> BCrypt.verifyer().verify(password.toCharArray(), hash).verified);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.executor.shutdown();
+    }
+}
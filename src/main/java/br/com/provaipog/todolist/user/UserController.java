@@ -1,6 +1,11 @@
 package br.com.provaipog.todolist.user;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -8,7 +13,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import at.favre.lib.crypto.bcrypt.BCrypt;
+import br.com.provaipog.todolist.filter.TokenService;
+import br.com.provaipog.todolist.utils.ReplicaRouting;
 
 @RestController
 @RequestMapping("/users")
@@ -17,20 +23,53 @@ public class UserController {
     @Autowired
     private IUserRepository userRepository;
 
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    // Executor das requisições assíncronas do MVC
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private Executor applicationTaskExecutor;
+
     @PostMapping("/")
-    public ResponseEntity create(@RequestBody UserModel userModel) {
-       var user = this.userRepository.findByUsername(userModel.getUsername());
+    public CompletableFuture<ResponseEntity<?>> create(@RequestBody UserModel userModel) {
+       var user = ReplicaRouting.noPrimario(() -> this.userRepository.findByUsername(userModel.getUsername()));
 
        if(user != null) {
             System.out.println("Usuário já existe");
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Usuário já existe");
+            return CompletableFuture.completedFuture(
+                ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Usuário já existe"));
        }
 
-       var passwordHashad = BCrypt.withDefaults().hashToString(12, userModel.getPassword().toCharArray());
+       // O hash roda no pool dedicado e a gravação no executor do MVC, para não ocupar as threads
+       // do hash com JDBC; a thread do Tomcat é liberada até a resposta ficar pronta
+       return this.passwordHasher.hash(userModel.getPassword()).thenApplyAsync(passwordHashad -> {
+            userModel.setPassword(passwordHashad);
 
-       userModel.setPassword(passwordHashad);
+            var userCreated = this.userRepository.save(userModel);
+            return ResponseEntity.status(HttpStatus.CREATED).body(userCreated);
+       }, this.applicationTaskExecutor);
+    }
+
+    @PostMapping("/auth")
+    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest) {
+       if (loginRequest.getUsername() == null || loginRequest.getPassword() == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Usuário e senha são obrigatórios");
+       }
+
+       var user = ReplicaRouting.noPrimario(() -> this.userRepository.findByUsername(loginRequest.getUsername()));
+       if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Usuário ou senha inválidos");
+       }
+
+       if (!this.passwordHasher.verify(loginRequest.getPassword(), user.getPassword())) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Usuário ou senha inválidos");
+       }
 
-       var userCreated = this.userRepository.save(userModel);
-       return ResponseEntity.status(HttpStatus.CREATED).body(userCreated);
+       var issued = this.tokenService.issue(user.getId());
+       return ResponseEntity.ok(new LoginResponse(issued.token(), "Bearer", issued.expiresAt()));
     }
 }
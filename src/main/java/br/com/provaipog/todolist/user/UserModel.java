@@ -7,17 +7,20 @@ import org.hibernate.annotations.CreationTimestamp;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
+import br.com.provaipog.todolist.filter.CredentialCacheInvalidator;
+import br.com.provaipog.todolist.utils.TimeOrderedUuid;
 import lombok.Data;
 
 @Data
 @Entity(name = "tb_users")
+@EntityListeners(CredentialCacheInvalidator.class)
 public class UserModel {
     
     
     @Id
-    @GeneratedValue(generator = "UUID")
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(unique = true)
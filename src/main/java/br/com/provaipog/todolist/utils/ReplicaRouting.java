@@ -0,0 +1,94 @@
+package br.com.provaipog.todolist.utils;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Escolhe entre o banco primário e a réplica de leitura para a conexão de cada transação.
+ * Transações {@code readOnly} vão para a réplica, exceto:
+ * <ul>
+ * <li>dentro de {@link #noPrimario(Supplier)};</li>
+ * <li>na requisição que já escreveu (lê o que acabou de gravar);</li>
+ * <li>para o usuário com escrita ainda não copiada para a réplica. Como TaskCache,
+ * TaskCountCache e as ETags de /tasks são por usuário, isso também impede que uma
+ * leitura atrasada fique em cache com a versão nova.</li>
+ * </ul>
+ * Escritas fora de transação não são vistas aqui e só chegam à réplica junto com a próxima
+ * escrita transacional.
+ */
+public class ReplicaRouting {
+
+    public enum Destino { PRIMARIO, REPLICA }
+
+    private static final String ESCREVEU = ReplicaRouting.class.getName() + ".ESCREVEU";
+    private static final ThreadLocal<Boolean> PRIMARIO = new ThreadLocal<>();
+
+    private final AtomicLong escritas = new AtomicLong();
+    // Última escrita já copiada para a réplica; -1 até a primeira cópia (réplica ainda sem tabelas)
+    private volatile long replicadas = -1;
+    private final Map<UUID, Long> pendentes = new ConcurrentHashMap<>();
+
+    /** Executa a leitura no primário mesmo em transação readOnly (ex.: verificar credenciais). */
+    public static <T> T noPrimario(Supplier<T> leitura) {
+        var anterior = PRIMARIO.get();
+        PRIMARIO.set(Boolean.TRUE);
+        try {
+            return leitura.get();
+        } finally {
+            if (anterior == null) {
+                PRIMARIO.remove();
+            }
+        }
+    }
+
+    /** Chamado ao abrir a conexão física da transação corrente. */
+    public Destino destino() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Destino.PRIMARIO;
+        }
+        var requisicao = RequestContextHolder.getRequestAttributes();
+        var idUser = requisicao != null ? requisicao.getAttribute("idUser", RequestAttributes.SCOPE_REQUEST) : null;
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (requisicao != null) {
+                requisicao.setAttribute(ESCREVEU, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+            }
+            AfterCommit.run(() -> registrarEscrita(idUser));
+            return Destino.PRIMARIO;
+        }
+        if (this.replicadas < 0 || PRIMARIO.get() != null
+                || requisicao != null && requisicao.getAttribute(ESCREVEU, RequestAttributes.SCOPE_REQUEST) != null
+                || idUser instanceof UUID id && this.pendentes.getOrDefault(id, -1L) > this.replicadas) {
+            return Destino.PRIMARIO;
+        }
+        return Destino.REPLICA;
+    }
+
+    /** Número de escritas confirmadas até agora; o replicador copia até este ponto. */
+    public long escritas() {
+        return this.escritas.get();
+    }
+
+    public long replicadas() {
+        return this.replicadas;
+    }
+
+    /** A réplica passou a conter todas as escritas confirmadas até {@code escritas}. */
+    public void replicado(long escritas) {
+        this.replicadas = escritas;
+        this.pendentes.values().removeIf(escrita -> escrita <= escritas);
+    }
+
+    private void registrarEscrita(Object idUser) {
+        var escrita = this.escritas.incrementAndGet();
+        if (idUser instanceof UUID id) {
+            this.pendentes.merge(id, escrita, Math::max);
+        }
+    }
+}
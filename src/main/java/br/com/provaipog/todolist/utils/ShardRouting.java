@@ -0,0 +1,134 @@
+package br.com.provaipog.todolist.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Distribui os usuários entre shards por hashing consistente: cada shard ocupa
+ * {@value #VNODES} pontos de um anel de 64 bits e o usuário fica no primeiro ponto a
+ * partir do hash do seu id. Acrescentar um shard ao fim da lista move só os usuários que
+ * passam a cair nele (cerca de 1/N); os demais continuam onde estavam.
+ *
+ * <p>O shard de cada conexão é o fixado por {@link #noShard} ou {@link #doUsuario}, senão
+ * o do usuário da requisição (atributo {@code idUser} do FilterTaskAuth), senão o
+ * primeiro, que guarda também tb_users.
+ */
+public class ShardRouting {
+
+    static final int VNODES = 160;
+
+    private static final ThreadLocal<String> SHARD = new ThreadLocal<>();
+
+    private final List<String> shards;
+    private final NavigableMap<Long, String> anel = new TreeMap<>();
+
+    public ShardRouting(List<String> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um shard");
+        }
+        this.shards = List.copyOf(shards);
+        for (var shard : this.shards) {
+            for (int i = 0; i < VNODES; i++) {
+                this.anel.put(ponto(shard + "#" + i), shard);
+            }
+        }
+    }
+
+    /** Sem sharding: um único shard, o banco da aplicação. */
+    public static ShardRouting unico() {
+        return new ShardRouting(List.of("shard-0"));
+    }
+
+    public List<String> shards() {
+        return this.shards;
+    }
+
+    public String principal() {
+        return this.shards.get(0);
+    }
+
+    public String shard(UUID idUser) {
+        var entrada = this.anel.ceilingEntry(hash(idUser));
+        return (entrada != null ? entrada : this.anel.firstEntry()).getValue();
+    }
+
+    /** Shard da conexão aberta agora nesta thread. */
+    public String atual() {
+        var fixado = SHARD.get();
+        if (fixado != null) {
+            return fixado;
+        }
+        var requisicao = RequestContextHolder.getRequestAttributes();
+        if (requisicao != null && requisicao.getAttribute("idUser", RequestAttributes.SCOPE_REQUEST) instanceof UUID idUser) {
+            return shard(idUser);
+        }
+        return principal();
+    }
+
+    /** Executa a ação com as conexões (e transações abertas nela) no shard indicado. */
+    public <T> T noShard(String shard, Supplier<T> acao) {
+        if (!this.shards.contains(shard)) {
+            throw new IllegalArgumentException("Shard inexistente: " + shard);
+        }
+        var anterior = SHARD.get();
+        SHARD.set(shard);
+        try {
+            return acao.get();
+        } finally {
+            if (anterior == null) {
+                SHARD.remove();
+            } else {
+                SHARD.set(anterior);
+            }
+        }
+    }
+
+    /** Para trabalho de um usuário fora de requisição (testes, ferramentas). */
+    public <T> T doUsuario(UUID idUser, Supplier<T> acao) {
+        return noShard(shard(idUser), acao);
+    }
+
+    /** Tarefas de manutenção que percorrem todos os usuários: uma execução por shard. */
+    public void emCadaShard(Runnable acao) {
+        for (var shard : this.shards) {
+            noShard(shard, () -> {
+                acao.run();
+                return null;
+            });
+        }
+    }
+
+    // UUIDs v4 já são uniformes, mas os bits altos de ids ordenados por tempo não: mistura as duas metades
+    static long hash(UUID id) {
+        return fmix64(id.getMostSignificantBits() ^ fmix64(id.getLeastSignificantBits()));
+    }
+
+    private static long ponto(String nome) {
+        try {
+            var digest = MessageDigest.getInstance("MD5").digest(nome.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Finalizador do MurmurHash3
+    private static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
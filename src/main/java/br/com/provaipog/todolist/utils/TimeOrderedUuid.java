@@ -0,0 +1,19 @@
+package br.com.provaipog.todolist.utils;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Id UUID gerado por {@link UuidV7} no persist, no lugar de
+ * {@code @GeneratedValue(generator = "UUID")} (v4 aleatório). Escolhido por entidade.
+ */
+@IdGeneratorType(UuidV7.class)
+@Retention(RUNTIME)
+@Target(FIELD)
+public @interface TimeOrderedUuid {
+}
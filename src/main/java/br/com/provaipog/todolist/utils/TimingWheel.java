@@ -0,0 +1,175 @@
+package br.com.provaipog.todolist.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Timing wheel hierárquico (Varghese e Lauck, no formato usado pelo Kafka). O nível 0 tem
+ * {@code tamanho} posições de {@code tick} ms; cada nível acima tem posições do tamanho de
+ * uma volta do nível de baixo e só é criado quando aparece um prazo que não cabe nos
+ * anteriores. Agendar e cancelar são O(1). {@link #avancar} visita só as posições com
+ * itens, em ordem de vencimento, e cada item desce no máximo um nível por posição
+ * vencida: o custo acompanha os itens que vencem, não o tempo parado nem o total de
+ * posições.
+ *
+ * <p>Um item nunca vence antes do prazo e vence até um tick depois dele. Os métodos são
+ * sincronizados: agendamentos vêm das threads das requisições e o avanço do scheduler.
+ */
+public class TimingWheel<K, V> {
+
+    private final long tick;
+    private final Map<K, Item<K, V>> itens = new HashMap<>();
+    // Posições com itens, pelo vencimento; cada uma entra de novo a cada volta em que é usada
+    private final PriorityQueue<Posicao<K, V>> fila = new PriorityQueue<>(Comparator.comparingLong(p -> p.vencimento));
+    // Agendados com o prazo já passado: saem no próximo avanço
+    private final List<Item<K, V>> atrasados = new ArrayList<>();
+    private final Nivel base;
+
+    public TimingWheel(long tick, int tamanho, long agora) {
+        if (tick <= 0 || tamanho <= 0) {
+            throw new IllegalArgumentException("tick e tamanho devem ser positivos");
+        }
+        this.tick = tick;
+        this.base = new Nivel(tick, tamanho, agora);
+    }
+
+    /** Agenda o valor para o prazo (epoch ms), substituindo o agendamento anterior da chave. */
+    public synchronized void agendar(K chave, V valor, long prazo) {
+        cancelar(chave);
+        // Arredondado para cima: a posição de nível 0 vence no próprio alvo, nunca antes do prazo
+        long alvo = -Math.floorDiv(-prazo, this.tick) * this.tick;
+        var item = new Item<>(chave, valor, alvo);
+        this.itens.put(chave, item);
+        if (!this.base.inserir(item)) {
+            this.atrasados.add(item);
+        }
+    }
+
+    public synchronized boolean cancelar(K chave) {
+        var item = this.itens.remove(chave);
+        if (item == null) {
+            return false;
+        }
+        if (item.posicao != null) {
+            item.posicao.itens.remove(item);
+            item.posicao = null;
+        } else {
+            this.atrasados.remove(item);
+        }
+        return true;
+    }
+
+    /** Avança o relógio até {@code agora} (epoch ms) e devolve os valores vencidos. */
+    public synchronized List<V> avancar(long agora) {
+        var vencidos = new ArrayList<V>();
+        for (var item : this.atrasados) {
+            this.itens.remove(item.chave);
+            vencidos.add(item.valor);
+        }
+        this.atrasados.clear();
+        Posicao<K, V> posicao;
+        while ((posicao = this.fila.peek()) != null && posicao.vencimento <= agora) {
+            this.fila.poll();
+            this.base.avancarRelogio(posicao.vencimento);
+            for (var item : posicao.esvaziar()) {
+                // Vencido aqui, ou desce para um nível mais fino
+                if (!this.base.inserir(item)) {
+                    this.itens.remove(item.chave);
+                    vencidos.add(item.valor);
+                }
+            }
+        }
+        this.base.avancarRelogio(agora);
+        return vencidos;
+    }
+
+    public synchronized int tamanho() {
+        return this.itens.size();
+    }
+
+    private final class Nivel {
+
+        private final long tick;
+        private final long volta;
+        private final List<Posicao<K, V>> posicoes;
+        private long atual;
+        private Nivel acima;
+
+        Nivel(long tick, int tamanho, long inicio) {
+            this.tick = tick;
+            this.volta = tick * tamanho;
+            this.posicoes = new ArrayList<>(tamanho);
+            for (int i = 0; i < tamanho; i++) {
+                this.posicoes.add(new Posicao<>());
+            }
+            this.atual = inicio - Math.floorMod(inicio, tick);
+        }
+
+        /** false se o item já venceu neste nível. */
+        boolean inserir(Item<K, V> item) {
+            if (item.alvo < this.atual + this.tick) {
+                return false;
+            }
+            if (item.alvo < this.atual + this.volta) {
+                long virtual = item.alvo / this.tick;
+                var posicao = this.posicoes.get((int) Math.floorMod(virtual, (long) this.posicoes.size()));
+                posicao.itens.add(item);
+                item.posicao = posicao;
+                if (posicao.vencimento != virtual * this.tick) {
+                    posicao.vencimento = virtual * this.tick;
+                    TimingWheel.this.fila.add(posicao);
+                }
+                return true;
+            }
+            if (this.acima == null) {
+                this.acima = new Nivel(this.volta, this.posicoes.size(), this.atual);
+            }
+            return this.acima.inserir(item);
+        }
+
+        void avancarRelogio(long instante) {
+            if (instante >= this.atual + this.tick) {
+                this.atual = instante - Math.floorMod(instante, this.tick);
+                if (this.acima != null) {
+                    this.acima.avancarRelogio(this.atual);
+                }
+            }
+        }
+    }
+
+    private static final class Posicao<K, V> {
+
+        private final Set<Item<K, V>> itens = new LinkedHashSet<>();
+        private long vencimento = -1;
+
+        List<Item<K, V>> esvaziar() {
+            var conteudo = new ArrayList<>(this.itens);
+            this.itens.clear();
+            this.vencimento = -1;
+            for (var item : conteudo) {
+                item.posicao = null;
+            }
+            return conteudo;
+        }
+    }
+
+    private static final class Item<K, V> {
+
+        private final K chave;
+        private final V valor;
+        private final long alvo;
+        private Posicao<K, V> posicao;
+
+        Item(K chave, V valor, long alvo) {
+            this.chave = chave;
+            this.valor = valor;
+            this.alvo = alvo;
+        }
+    }
+}
@@ -1,33 +1,87 @@
 package br.com.provaipog.todolist.utils;
 
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
-import java.util.HashSet;
-import java.util.Set;
-
-import org.springframework.beans.BeanUtils;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
 
 public class Utils {
 
+    /**
+     * Plano de cópia por classe: pares getter/setter como MethodHandles, montados uma vez
+     * por introspecção e reaproveitados em todas as chamadas.
+     */
+    private static final ClassValue<Propriedade[]> PLANOS = new ClassValue<>() {
+        @Override
+        protected Propriedade[] computeValue(Class<?> tipo) {
+            return planejar(tipo);
+        }
+    };
+
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * Copia para {@code target} as propriedades não nulas de {@code source}, pelos setters
+     * do destino (as validações dos setters continuam valendo). O destino precisa ser da
+     * classe da origem ou de uma subclasse. Uma exceção checada do setter chega como
+     * IllegalArgumentException com a mesma mensagem.
+     */
     public static void copyNonNullProperties(Object source, Object target) {
-        BeanUtils.copyProperties(source, target, getNullPropertyNames(source));
+        var tipo = source.getClass();
+        if (!tipo.isInstance(target)) {
+            throw new IllegalArgumentException(
+                "Destino " + target.getClass().getName() + " não é compatível com " + tipo.getName());
+        }
+        for (var propriedade : PLANOS.get(tipo)) {
+            propriedade.copiarSeNaoNulo(source, target);
+        }
     }
-    
-    public static String[] getNullPropertyNames(Object source) {
-        final BeanWrapper src = new BeanWrapperImpl(source);
 
-        PropertyDescriptor[] pds = src.getPropertyDescriptors();
+    private static Propriedade[] planejar(Class<?> tipo) {
+        try {
+            var lookup = MethodHandles.publicLookup();
+            var propriedades = new ArrayList<Propriedade>();
+            for (PropertyDescriptor pd : Introspector.getBeanInfo(tipo).getPropertyDescriptors()) {
+                if (pd.getReadMethod() == null || pd.getWriteMethod() == null) {
+                    continue;
+                }
+                propriedades.add(new Propriedade(pd.getName(),
+                    lookup.unreflect(pd.getReadMethod()).asType(GETTER),
+                    lookup.unreflect(pd.getWriteMethod()).asType(SETTER)));
+            }
+            return propriedades.toArray(new Propriedade[0]);
+        } catch (IntrospectionException | IllegalAccessException e) {
+            throw new IllegalStateException("Não foi possível mapear as propriedades de " + tipo.getName(), e);
+        }
+    }
 
-        Set<String> emptyNames = new HashSet<>();
+    private static final class Propriedade {
+        private final String nome;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
 
-        for(PropertyDescriptor pd: pds) {
-            Object srcValue = src.getPropertyValue(pd.getName());
-            if (srcValue == null) {
-                emptyNames.add(pd.getName());
+        private Propriedade(String nome, MethodHandle getter, MethodHandle setter) {
+            this.nome = nome;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        private void copiarSeNaoNulo(Object source, Object target) {
+            try {
+                Object valor = (Object) this.getter.invokeExact(source);
+                if (valor != null) {
+                    this.setter.invokeExact(target, valor);
+                }
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalArgumentException(
+                    e.getMessage() != null ? e.getMessage() : "Erro ao copiar a propriedade " + this.nome, e);
             }
         }
-        String[] result = new String[emptyNames.size()];
-        return emptyNames.toArray(result);
-    } 
+    }
 }
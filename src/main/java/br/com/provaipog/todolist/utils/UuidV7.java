@@ -0,0 +1,71 @@
+package br.com.provaipog.todolist.utils;
+
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+/**
+ * UUIDs versão 7 (RFC 9562): 48 bits de milissegundos, 12 bits de contador e 62 bits
+ * aleatórios. Ids novos entram no fim do índice da chave primária em vez de espalhados
+ * por ele, como os v4.
+ *
+ * <p>Milissegundo e contador ficam num único {@link AtomicLong} atualizado por CAS, sem
+ * lock: dentro do mesmo milissegundo o contador cresce, e ao esgotar os 4096 valores (ou
+ * se o relógio voltar) o milissegundo avança, então os ids desta JVM são sempre
+ * crescentes. A parte aleatória vem de {@link ThreadLocalRandom}; o acesso às tarefas
+ * continua dependendo do dono, não de o id ser imprevisível.
+ *
+ * <p>Também é o gerador de {@link TimeOrderedUuid}.
+ */
+public class UuidV7 implements BeforeExecutionGenerator {
+
+    private static final UuidV7 PADRAO = new UuidV7(System::currentTimeMillis);
+
+    private final LongSupplier relogio;
+    // milissegundo << 12 | contador
+    private final AtomicLong ultimo = new AtomicLong();
+
+    /** Usado pelo Hibernate para {@link TimeOrderedUuid}; {@link #generate} usa o estado do padrão. */
+    public UuidV7() {
+        this(System::currentTimeMillis);
+    }
+
+    UuidV7(LongSupplier relogio) {
+        this.relogio = relogio;
+    }
+
+    public static UUID gerar() {
+        return PADRAO.proximo();
+    }
+
+    UUID proximo() {
+        long agora = this.relogio.getAsLong() << 12;
+        long anterior;
+        long atual;
+        do {
+            anterior = this.ultimo.get();
+            atual = Math.max(agora, anterior + 1);
+        } while (!this.ultimo.compareAndSet(anterior, atual));
+        long msb = (atual >>> 12) << 16 | 0x7000L | (atual & 0xFFFL);
+        long lsb = ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+            EventType eventType) {
+        return gerar();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.provaipog.todolist.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Contadores de versão distribuídos em faixas (stripes) para invalidação de caches.
+ * Quem lê captura a versão antes de consultar o banco e usa a versão na chave do
+ * cache; uma escrita incrementa a versão depois do commit, tornando inalcançáveis
+ * os valores lidos antes dela. Chaves que caem na mesma faixa apenas perdem o cache.
+ */
+public class VersionStripes {
+
+    private final AtomicLongArray versions;
+    private final int mask;
+
+    public VersionStripes(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.versions = new AtomicLongArray(size);
+        this.mask = size - 1;
+    }
+
+    public long current(Object key) {
+        return this.versions.get(index(key));
+    }
+
+    public long bump(Object key) {
+        return this.versions.incrementAndGet(index(key));
+    }
+
+    private int index(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & this.mask;
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.provaipog.todolist.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+
+import at.favre.lib.crypto.bcrypt.BCrypt;
+import br.com.provaipog.todolist.user.IUserRepository;
+import br.com.provaipog.todolist.user.LoginRequest;
+import br.com.provaipog.todolist.user.UserModel;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+class MetricsConfigTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private IUserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testPrometheusEndpointExposesHotPathMetrics() {
+        var user = new UserModel();
+        user.setUsername("metricas");
+        user.setName("Métricas");
+        user.setPassword(BCrypt.withDefaults().hashToString(4, "senha".toCharArray()));
+        userRepository.save(user);
+
+        var login = new LoginRequest();
+        login.setUsername("metricas");
+        login.setPassword("senha");
+        assertEquals(HttpStatus.OK, restTemplate.postForEntity("/users/auth", login, String.class).getStatusCode());
+        var headers = new HttpHeaders();
+        headers.setBasicAuth("metricas", "senha");
+        assertEquals(HttpStatus.OK, restTemplate.exchange("/tasks/", HttpMethod.GET,
+            new HttpEntity<>(headers), String.class).getStatusCode());
+
+        // Login e Basic: duas verificações e duas buscas por usuário, de uma linha cada
+        assertEquals(2, meterRegistry.get("todolist.bcrypt").tag("operation", "verify").timer().count());
+        var linhas = meterRegistry.get("todolist.repository.rows")
+            .tag("repository", "IUserRepository").tag("method", "findByUsername").summary();
+        assertEquals(2, linhas.count());
+        assertEquals(2, linhas.totalAmount());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "credentials").tag("result", "miss")
+            .functionCounter().count());
+        assertEquals(1, meterRegistry.get("http.server.requests").tag("uri", "/tasks/").tag("status", "200")
+            .timer().count());
+        assertTrue(meterRegistry.get("spring.data.repository.invocations").timers().stream().anyMatch(t -> t.count() > 0));
+
+        // Os nomes expostos no formato do Prometheus
+        var body = restTemplate.getForObject("/actuator/prometheus", String.class);
+        for (var metrica : new String[] { "todolist_bcrypt_seconds", "todolist_repository_rows", "hibernate_statements_total",
+                "hikaricp_connections_acquire_seconds", "cache_gets_total", "executor_queued_tasks" }) {
+            assertTrue(body.contains(metrica), metrica);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package br.com.provaipog.todolist.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import at.favre.lib.crypto.bcrypt.BCrypt;
+import br.com.provaipog.todolist.task.ITaskRepository;
+import br.com.provaipog.todolist.task.Priority;
+import br.com.provaipog.todolist.task.Situation;
+import br.com.provaipog.todolist.task.TaskModel;
+import br.com.provaipog.todolist.user.IUserRepository;
+import br.com.provaipog.todolist.user.UserModel;
+import br.com.provaipog.todolist.utils.ReplicaRouting;
+import br.com.provaipog.todolist.utils.ReplicaRouting.Destino;
+
+// Sincronização só sob demanda: entre uma chamada e outra a réplica fica atrasada
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "todolist.datasource.replica.enabled=true",
+    "todolist.datasource.replica.url=jdbc:h2:mem:todolist-replica-test",
+    "todolist.datasource.replica.sync-interval=1h"
+})
+class ReplicaDataSourceConfigTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private IUserRepository userRepository;
+
+    @Autowired
+    private ITaskRepository taskRepository;
+
+    @Autowired
+    private ReplicaReplicator replicaReplicator;
+
+    @Autowired
+    private ReplicaRouting replicaRouting;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testReadsGoToTheReplicaExceptForTheOwnerOfUnreplicatedWrites() throws Exception {
+        var user = criarUsuario("replica-dono");
+        replicaReplicator.sincronizar();
+
+        // Gravada fora de requisição: nenhum usuário fica preso ao primário
+        taskRepository.save(novaTarefa(user.getId(), "Antes da cópia"));
+        assertEquals(0, totalDaListagem("replica-dono"));
+
+        replicaReplicator.sincronizar();
+        assertEquals(1, totalDaListagem("replica-dono"));
+
+        var criada = exchange("replica-dono", HttpMethod.POST, "/tasks/", Map.of(
+            "nome", "Pelo POST", "prioridade", "ALTA", "dataPrevistaConclusao", LocalDate.now().plusDays(1).toString()));
+        assertTrue(criada.getStatusCode().is2xxSuccessful());
+        var id = objectMapper.readTree(criada.getBody()).get("id").asText();
+        // A alteração de situação (fragmento Impl) continua sendo escrita no primário
+        assertTrue(exchange("replica-dono", HttpMethod.PATCH, "/tasks/" + id + "/complete", null)
+            .getStatusCode().is2xxSuccessful());
+        var noPrimario = ReplicaRouting.noPrimario(() -> taskRepository.findById(UUID.fromString(id)));
+        assertEquals(Situation.CONCLUIDA, noPrimario.orElseThrow().getSituacao());
+
+        // Outra requisição do mesmo usuário lê do primário até a próxima cópia
+        assertEquals(2, totalDaListagem("replica-dono"));
+        var naReplica = new JdbcTemplate(replica).queryForObject(
+            "SELECT COUNT(*) FROM tb_tasks WHERE id_user = ?", Long.class, user.getId());
+        assertEquals(1, naReplica);
+
+        replicaReplicator.sincronizar();
+        assertEquals(2, new JdbcTemplate(replica).queryForObject(
+            "SELECT COUNT(*) FROM tb_tasks WHERE id_user = ?", Long.class, user.getId()));
+    }
+
+    @Test
+    void testRequestStaysOnPrimaryAfterWriting() throws Exception {
+        replicaReplicator.sincronizar();
+        var leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+        var escrita = new TransactionTemplate(transactionManager);
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            assertEquals(Destino.REPLICA, leitura.execute(status -> replicaRouting.destino()));
+            assertEquals(Destino.PRIMARIO,
+                leitura.execute(status -> ReplicaRouting.noPrimario(replicaRouting::destino)));
+            assertEquals(Destino.PRIMARIO, escrita.execute(status -> replicaRouting.destino()));
+            assertEquals(Destino.PRIMARIO, leitura.execute(status -> replicaRouting.destino()));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+        assertEquals(Destino.PRIMARIO, replicaRouting.destino(), "fora de transação");
+    }
+
+    private long totalDaListagem(String username) throws Exception {
+        var resposta = exchange(username, HttpMethod.GET, "/tasks/", null);
+        return objectMapper.readTree(resposta.getBody()).get("content").size();
+    }
+
+    private ResponseEntity<String> exchange(String username, HttpMethod method, String url, Object body) {
+        var headers = new HttpHeaders();
+        headers.setBasicAuth(username, "senha");
+        return restTemplate.exchange(url, method, new HttpEntity<>(body, headers), String.class);
+    }
+
+    private UserModel criarUsuario(String username) {
+        var user = new UserModel();
+        user.setUsername(username);
+        user.setName(username);
+        user.setPassword(BCrypt.withDefaults().hashToString(4, "senha".toCharArray()));
+        return userRepository.save(user);
+    }
+
+    private static TaskModel novaTarefa(UUID idUser, String nome) throws Exception {
+        var task = new TaskModel();
+        task.setIdUser(idUser);
+        task.setNome(nome);
+        task.setPrioridade(Priority.MEDIA);
+        task.setDataPrevistaConclusao(LocalDate.now().plusDays(1));
+        return task;
+    }
+}
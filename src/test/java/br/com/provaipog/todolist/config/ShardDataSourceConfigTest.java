@@ -0,0 +1,170 @@
+package br.com.provaipog.todolist.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import at.favre.lib.crypto.bcrypt.BCrypt;
+import br.com.provaipog.todolist.user.IUserRepository;
+import br.com.provaipog.todolist.user.UserModel;
+import br.com.provaipog.todolist.utils.ShardRouting;
+
+// Bancos próprios: o rebalanceamento não pode mexer nas tarefas dos outros testes
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:todolist-shards-test-0",
+    "todolist.datasource.shards.enabled=true",
+    "todolist.datasource.shards.urls=jdbc:h2:mem:todolist-shards-test-1,jdbc:h2:mem:todolist-shards-test-2",
+    "spring.jmx.enabled=true",
+    "management.endpoints.jmx.exposure.include=shards",
+    "management.endpoints.web.exposure.include=*"
+})
+class ShardDataSourceConfigTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private IUserRepository userRepository;
+
+    @Autowired
+    private ShardRouting shardRouting;
+
+    @Autowired
+    private ShardRebalancer shardRebalancer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testEachUserTasksLiveOnlyOnTheirShardAndRebalanceMovesThemBack() throws Exception {
+        // Um usuário por shard
+        var usuarios = new LinkedHashMap<String, UserModel>();
+        for (int i = 0; usuarios.size() < shardRouting.shards().size() && i < 200; i++) {
+            var user = criarUsuario("shard-user-" + i);
+            usuarios.putIfAbsent(shardRouting.shard(user.getId()), user);
+        }
+        assertEquals(shardRouting.shards().size(), usuarios.size());
+
+        for (var user : usuarios.values()) {
+            for (int i = 0; i < 2; i++) {
+                var criada = exchange(user.getUsername(), HttpMethod.POST, "/tasks/", Map.of(
+                    "nome", "Tarefa " + i, "prioridade", "ALTA", "dataPrevistaConclusao", LocalDate.now().plusDays(1).toString()));
+                assertTrue(criada.getStatusCode().is2xxSuccessful(), criada.getBody());
+            }
+        }
+
+        for (var entrada : usuarios.entrySet()) {
+            var idUser = entrada.getValue().getId();
+            for (var shard : shardRouting.shards()) {
+                assertEquals(shard.equals(entrada.getKey()) ? 2 : 0, tarefasNoShard(shard, idUser), shard);
+            }
+            assertEquals(2, tarefasDaListagem(entrada.getValue().getUsername()));
+        }
+
+        var origem = shardRouting.shards().get(1);
+        var outro = shardRouting.shards().get(2);
+        var user = usuarios.get(origem);
+        shardRebalancer.mover(user.getId(), origem, outro);
+        assertEquals(2, tarefasNoShard(outro, user.getId()));
+        assertEquals(0, tarefasDaListagem(user.getUsername()));
+
+        var distribuicao = shardRebalancer.distribuicao();
+        assertEquals(1L, ((Map<?, ?>) distribuicao.get(outro)).get("foraDoLugar"));
+
+        var rebalanceamento = shardRebalancer.rebalancear();
+        assertEquals(1, rebalanceamento.get("movidos"));
+        assertEquals(0, tarefasNoShard(outro, user.getId()));
+        assertEquals(2, tarefasDaListagem(user.getUsername()));
+        var stats = objectMapper.readTree(exchange(user.getUsername(), HttpMethod.GET, "/tasks/stats", null).getBody());
+        assertEquals(2, stats.get("total").asInt());
+    }
+
+    @Test
+    void testAnotherShardTaskStillGives403AndAnUnknownIdGives404() throws Exception {
+        UserModel dono = null;
+        UserModel intruso = null;
+        for (int i = 0; (dono == null || intruso == null) && i < 200; i++) {
+            var user = criarUsuario("cross-shard-user-" + i);
+            if (dono == null) {
+                dono = user;
+            } else if (!shardRouting.shard(user.getId()).equals(shardRouting.shard(dono.getId()))) {
+                intruso = user;
+            }
+        }
+        assertNotNull(intruso);
+
+        var criada = exchange(dono.getUsername(), HttpMethod.POST, "/tasks/", Map.of(
+            "nome", "Tarefa do dono", "prioridade", "ALTA", "dataPrevistaConclusao", LocalDate.now().plusDays(1).toString()));
+        var id = objectMapper.readTree(criada.getBody()).get("id").asText();
+
+        var nome = intruso.getUsername();
+        assertEquals(HttpStatus.FORBIDDEN, exchange(nome, HttpMethod.GET, "/tasks/" + id, null).getStatusCode());
+        assertEquals(HttpStatus.FORBIDDEN, exchange(nome, HttpMethod.PUT, "/tasks/" + id, Map.of(
+            "nome", "Invadida", "prioridade", "BAIXA", "dataPrevistaConclusao", LocalDate.now().plusDays(2).toString())).getStatusCode());
+        assertEquals(HttpStatus.FORBIDDEN, exchange(nome, HttpMethod.PATCH, "/tasks/" + id + "/complete", null).getStatusCode());
+        assertEquals(HttpStatus.FORBIDDEN, exchange(nome, HttpMethod.DELETE, "/tasks/" + id, null).getStatusCode());
+        var lote = exchange(nome, HttpMethod.PATCH, "/tasks/batch", List.of(Map.of("id", id, "nome", "Invadida")));
+        assertEquals(HttpStatus.BAD_REQUEST, lote.getStatusCode());
+        assertEquals(403, objectMapper.readTree(lote.getBody()).get(0).get("status").asInt());
+
+        var desconhecido = UUID.randomUUID();
+        assertEquals(HttpStatus.NOT_FOUND, exchange(nome, HttpMethod.GET, "/tasks/" + desconhecido, null).getStatusCode());
+        lote = exchange(nome, HttpMethod.PATCH, "/tasks/batch", List.of(Map.of("id", desconhecido.toString(), "nome", "X")));
+        assertEquals(404, objectMapper.readTree(lote.getBody()).get(0).get("status").asInt());
+
+        var daTarefa = objectMapper.readTree(exchange(dono.getUsername(), HttpMethod.GET, "/tasks/" + id, null).getBody());
+        assertEquals("Tarefa do dono", daTarefa.get("nome").asText());
+        assertEquals("ABERTA", daTarefa.get("situacao").asText());
+    }
+
+    @Test
+    void testShardsEndpointIsNotExposedOverHttp() {
+        // Mesmo com todos os endpoints web expostos, o rebalanceamento fica só no JMX
+        assertEquals(HttpStatus.NOT_FOUND, restTemplate.postForEntity("/actuator/shards", null, String.class).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, restTemplate.getForEntity("/actuator/shards", String.class).getStatusCode());
+    }
+
+    private long tarefasNoShard(String shard, UUID idUser) {
+        return shardRouting.noShard(shard, () ->
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_tasks WHERE id_user = ?", Long.class, idUser));
+    }
+
+    private int tarefasDaListagem(String username) throws Exception {
+        var resposta = exchange(username, HttpMethod.GET, "/tasks/", null);
+        return objectMapper.readTree(resposta.getBody()).get("content").size();
+    }
+
+    private ResponseEntity<String> exchange(String username, HttpMethod method, String url, Object body) {
+        var headers = new HttpHeaders();
+        headers.setBasicAuth(username, "senha");
+        return restTemplate.exchange(url, method, new HttpEntity<>(body, headers), String.class);
+    }
+
+    private UserModel criarUsuario(String username) {
+        var user = new UserModel();
+        user.setUsername(username);
+        user.setName(username);
+        user.setPassword(BCrypt.withDefaults().hashToString(4, "senha".toCharArray()));
+        return userRepository.save(user);
+    }
+}
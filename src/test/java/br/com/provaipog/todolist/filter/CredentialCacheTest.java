@@ -0,0 +1,51 @@
+package br.com.provaipog.todolist.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.com.provaipog.todolist.user.IUserRepository;
+import br.com.provaipog.todolist.user.UserModel;
+
+@SpringBootTest
+class CredentialCacheTest {
+
+    private static final String AUTHORIZATION = "Basic Y2FjaGU6c2VuaGE=";
+
+    @Autowired
+    private CredentialCache credentialCache;
+
+    @Autowired
+    private IUserRepository userRepository;
+
+    @Test
+    void testUserUpdateInvalidatesCachedCredential() {
+        var user = userRepository.save(novoUsuario("cache-update"));
+        credentialCache.put(AUTHORIZATION, user);
+
+        user.setPassword("outro-hash");
+        userRepository.save(user);
+
+        assertNull(credentialCache.get(AUTHORIZATION));
+    }
+
+    @Test
+    void testUserRemovalInvalidatesCachedCredential() {
+        var user = userRepository.save(novoUsuario("cache-remocao"));
+        credentialCache.put(AUTHORIZATION, user);
+
+        userRepository.delete(user);
+
+        assertNull(credentialCache.get(AUTHORIZATION));
+    }
+
+    private static UserModel novoUsuario(String username) {
+        var user = new UserModel();
+        user.setUsername(username);
+        user.setName("Cache");
+        user.setPassword("hash");
+        return user;
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.provaipog.todolist.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import at.favre.lib.crypto.bcrypt.BCrypt;
+import br.com.provaipog.todolist.user.IUserRepository;
+import br.com.provaipog.todolist.user.UserModel;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class FilterTaskAuthTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private IUserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testCachedBasicCredentialSkipsTheBcryptVerify() {
+        criarUsuario("filtro-cache");
+
+        long antes = verificacoes();
+        assertEquals(HttpStatus.OK, listar("filtro-cache", "senha").getStatusCode());
+        assertEquals(antes + 1, verificacoes());
+
+        // Mesmo header: vem do CredentialCache, sem consulta nem BCrypt
+        assertEquals(HttpStatus.OK, listar("filtro-cache", "senha").getStatusCode());
+        assertEquals(HttpStatus.OK, listar("filtro-cache", "senha").getStatusCode());
+        assertEquals(antes + 1, verificacoes());
+
+        // Senha errada é outro header: não acerta o cache e continua sendo recusada
+        assertEquals(HttpStatus.UNAUTHORIZED, listar("filtro-cache", "errada").getStatusCode());
+        assertEquals(antes + 2, verificacoes());
+    }
+
+    private long verificacoes() {
+        return meterRegistry.get("todolist.bcrypt").tag("operation", "verify").timer().count();
+    }
+
+    private ResponseEntity<String> listar(String username, String senha) {
+        var headers = new HttpHeaders();
+        headers.setBasicAuth(username, senha);
+        return restTemplate.exchange("/tasks/", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    private void criarUsuario(String username) {
+        var user = new UserModel();
+        user.setUsername(username);
+        user.setName(username);
+        user.setPassword(BCrypt.withDefaults().hashToString(4, "senha".toCharArray()));
+        userRepository.save(user);
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.provaipog.todolist.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class TokenServiceTest {
+
+    @Test
+    void testIssuedTokenIsVerified() {
+        var service = new TokenService("segredo", Duration.ofMinutes(5));
+        var idUser = UUID.randomUUID();
+
+        var issued = service.issue(idUser);
+
+        assertEquals(idUser, service.verify(issued.token()));
+    }
+
+    @Test
+    void testTamperedTokenIsRejected() {
+        var service = new TokenService("segredo", Duration.ofMinutes(5));
+        var token = service.issue(UUID.randomUUID()).token();
+        var forged = service.issue(UUID.randomUUID()).token();
+
+        var tampered = forged.substring(0, forged.indexOf('.')) + token.substring(token.indexOf('.'));
+
+        assertNull(service.verify(tampered));
+        assertNull(service.verify("invalido"));
+    }
+
+    @Test
+    void testTokenFromAnotherSecretIsRejected() {
+        var token = new TokenService("segredo", Duration.ofMinutes(5)).issue(UUID.randomUUID()).token();
+
+        assertNull(new TokenService("outro", Duration.ofMinutes(5)).verify(token));
+    }
+
+    @Test
+    void testExpiredTokenIsRejected() {
+        var service = new TokenService("segredo", Duration.ofSeconds(-1));
+
+        assertNull(service.verify(service.issue(UUID.randomUUID()).token()));
+    }
+}
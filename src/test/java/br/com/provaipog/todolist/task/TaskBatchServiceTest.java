@@ -0,0 +1,275 @@
+package br.com.provaipog.todolist.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import at.favre.lib.crypto.bcrypt.BCrypt;
+import br.com.provaipog.todolist.user.IUserRepository;
+import br.com.provaipog.todolist.user.UserModel;
+import br.com.provaipog.todolist.utils.JdbcStatementCounter;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(JdbcStatementCounter.class)
+class TaskBatchServiceTest {
+
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private ITaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    @Autowired
+    private JdbcStatementCounter statements;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private IUserRepository userRepository;
+
+    private UUID idUser;
+
+    @BeforeEach
+    void setUp() {
+        idUser = UUID.randomUUID();
+    }
+
+    @Test
+    void testCreateAssignsIdsAndBatchesInserts() throws Exception {
+        var tarefas = novasTarefas(120);
+        statements.limpar();
+
+        var resultados = taskBatchService.criar(tarefas, idUser);
+
+        // Blocos de 50: em cada um, um batch de INSERTs, um de trigramas e um MERGE dos totais
+        // e outro do vencimento (todas do mesmo usuário e data), em vez de 1 + 1 + 2 por tarefa
+        assertEquals(3, statements.contar("insert into tb_tasks "));
+        assertEquals(3, statements.contar("insert into tb_task_trigrams"));
+        assertEquals(6, statements.contar("merge into tb_task_stats"));
+        assertEquals(3 + 3 + 6, statements.total());
+        assertEquals(120, resultados.size());
+        assertFalse(TaskBatchItemResult.temErros(resultados));
+        assertEquals(120, resultados.stream().map(TaskBatchItemResult::getId).distinct().count());
+        assertEquals(120, taskRepository.findByIdUser(idUser).size());
+    }
+
+    @Test
+    void testInvalidItemRejectsWholeBatch() throws Exception {
+        var tarefas = novasTarefas(3);
+        ((ObjectNode) tarefas.get(1)).remove("prioridade");
+
+        var resultados = taskBatchService.criar(tarefas, idUser);
+
+        assertEquals(1, resultados.size());
+        assertEquals(1, resultados.get(0).getIndice());
+        assertEquals(400, resultados.get(0).getStatus());
+        assertEquals("Prioridade é obrigatória", resultados.get(0).getMensagem());
+        assertTrue(taskRepository.findByIdUser(idUser).isEmpty());
+    }
+
+    @Test
+    void testBatchSizeIsLimited() {
+        assertThrows(IllegalArgumentException.class, () -> taskBatchService.criar(List.of(), idUser));
+    }
+
+    @Test
+    void testUpdateAppliesNonNullFieldsInOneQueryAndBatchesUpdates() throws Exception {
+        var criadas = taskBatchService.criar(novasTarefas(60), idUser);
+        var alteracoes = new ArrayList<JsonNode>();
+        for (var criada : criadas) {
+            alteracoes.add(alteracao(criada.getId(), "Alterada " + criada.getIndice()));
+        }
+        statements.limpar();
+
+        var resultados = taskBatchService.atualizar(alteracoes, idUser);
+
+        assertFalse(TaskBatchItemResult.temErros(resultados));
+        // 1 SELECT das 60 tarefas + 2 batches de UPDATE
+        assertEquals(2, statements.contar("update tb_tasks "));
+        // Só a descrição mudou: nem os totais nem os trigramas escrevem
+        assertEquals(1, statements.contar("select "));
+        assertEquals(0, statements.contar("delete from tb_task_trigrams"));
+        assertEquals(1 + 2, statements.total());
+        var tarefa = taskRepository.findById(criadas.get(7).getId()).orElseThrow();
+        assertEquals("Alterada 7", tarefa.getDescricao());
+        assertEquals("Tarefa 7", tarefa.getNome());
+    }
+
+    @Test
+    void testRenamesAndPriorityChangesRewriteIndexAndCountersOncePerChunk() {
+        var criadas = taskBatchService.criar(novasTarefas(60), idUser);
+        var alteracoes = new ArrayList<JsonNode>();
+        for (var criada : criadas) {
+            alteracoes.add(objectMapper.valueToTree(Map.of(
+                "id", criada.getId(), "nome", "Renomeada " + criada.getIndice(), "prioridade", "ALTA")));
+        }
+        var id = criadas.get(7).getId();
+        taskCache.buscar(id, idUser, () -> taskRepository.findById(id));
+        statements.limpar();
+
+        assertFalse(TaskBatchItemResult.temErros(taskBatchService.atualizar(alteracoes, idUser)));
+
+        // Por bloco de 50: UPDATEs, DELETE e INSERT de trigramas e um MERGE dos totais
+        assertEquals(2, statements.contar("update tb_tasks "));
+        assertEquals(2, statements.contar("delete from tb_task_trigrams"));
+        assertEquals(2, statements.contar("insert into tb_task_trigrams"));
+        assertEquals(2, statements.contar("merge into tb_task_stats"));
+        assertEquals(1 + 4 * 2, statements.total());
+        var encontradas = taskRepository.findByIdUserWithFilters(idUser, "renomeada 7", null, null, PageRequest.of(0, 10));
+        assertEquals(List.of(id), encontradas.map(TaskModel::getId).getContent());
+        // Sem os listeners, o lote invalida o cache ele mesmo
+        assertEquals("Renomeada 7", taskCache.buscar(id, idUser, () -> taskRepository.findById(id)).getNome());
+        var stats = taskStatsService.consultar(idUser);
+        assertEquals(60, stats.getPorPrioridade().get(Priority.ALTA));
+        assertEquals(0, stats.getPorPrioridade().get(Priority.MEDIA));
+    }
+
+    @Test
+    void testUpdateReportsPerItemErrorsAndWritesNothing() throws Exception {
+        var minha = taskBatchService.criar(novasTarefas(1), idUser).get(0).getId();
+        var outroUsuario = UUID.randomUUID();
+        var alheia = taskBatchService.criar(novasTarefas(1), outroUsuario).get(0).getId();
+
+        var resultados = taskBatchService.atualizar(List.of(
+            alteracao(minha, "Nova descrição"),
+            alteracao(alheia, "Invasão"),
+            alteracao(UUID.randomUUID(), "Inexistente")), idUser);
+
+        assertEquals(List.of(403, 404), resultados.stream().map(TaskBatchItemResult::getStatus).toList());
+        assertEquals(List.of(1, 2), resultados.stream().map(TaskBatchItemResult::getIndice).toList());
+        assertNotEquals("Nova descrição", taskRepository.findById(minha).orElseThrow().getDescricao());
+        assertEquals(outroUsuario, taskRepository.findById(alheia).orElseThrow().getIdUser());
+    }
+
+    @Test
+    void testUpdateRejectsNullItemsAndLongDescriptions() throws Exception {
+        var minha = taskBatchService.criar(novasTarefas(1), idUser).get(0).getId();
+        var alteracoes = new ArrayList<JsonNode>();
+        alteracoes.add(null);
+        alteracoes.add(alteracao(minha, "x".repeat(501)));
+
+        var resultados = taskBatchService.atualizar(alteracoes, idUser);
+
+        assertEquals(List.of(400, 400), resultados.stream().map(TaskBatchItemResult::getStatus).toList());
+        assertEquals("O id da tarefa é obrigatório", resultados.get(0).getMensagem());
+        assertEquals("O campo descrição deve conter no máximo 500 caracteres", resultados.get(1).getMensagem());
+        assertNull(taskRepository.findById(minha).orElseThrow().getDescricao());
+    }
+
+    @Test
+    void testPatchWithoutSituacaoKeepsTheSituacaoOfACompletedTask() {
+        var id = taskBatchService.criar(novasTarefas(1), idUser).get(0).getId();
+        taskRepository.alterarSituacao(id, idUser, Situation.CONCLUIDA);
+
+        var resultados = taskBatchService.atualizar(List.of(objectMapper.valueToTree(Map.of(
+            "id", id, "nome", "Renomeada"))), idUser);
+
+        assertFalse(TaskBatchItemResult.temErros(resultados));
+        var tarefa = taskRepository.findById(id).orElseThrow();
+        assertEquals("Renomeada", tarefa.getNome());
+        assertEquals(Situation.CONCLUIDA, tarefa.getSituacao());
+        // Enviada e diferente, a situação continua recusada
+        var reaberta = taskBatchService.atualizar(List.of(objectMapper.valueToTree(Map.of(
+            "id", id, "situacao", "ABERTA"))), idUser);
+        assertEquals(400, reaberta.get(0).getStatus());
+    }
+
+    @Test
+    void testBadItemsAmongGoodOnesGetPerItemResultsOverHttp() throws Exception {
+        criarUsuario("lote-itens");
+        var amanha = LocalDate.now().plusDays(1).toString();
+        var lote = List.of(
+            Map.of("nome", "Boa", "prioridade", "ALTA", "dataPrevistaConclusao", amanha),
+            Map.of("nome", "Vencida", "prioridade", "ALTA", "dataPrevistaConclusao", LocalDate.now().minusDays(1).toString()),
+            Map.of("nome", " ", "prioridade", "ALTA", "dataPrevistaConclusao", amanha),
+            Map.of("nome", "x".repeat(101), "prioridade", "ALTA", "dataPrevistaConclusao", amanha),
+            Map.of("nome", "Prioridade", "prioridade", "URGENTE", "dataPrevistaConclusao", amanha),
+            "texto");
+
+        var resposta = exchange("lote-itens", HttpMethod.POST, lote);
+
+        assertEquals(HttpStatus.BAD_REQUEST, resposta.getStatusCode());
+        var itens = objectMapper.readTree(resposta.getBody());
+        assertEquals(5, itens.size());
+        for (int i = 0; i < itens.size(); i++) {
+            assertEquals(i + 1, itens.get(i).get("indice").asInt());
+            assertEquals(400, itens.get(i).get("status").asInt());
+        }
+        assertEquals("A data prevista de conclusão não pode ser anterior à data atual", itens.get(0).get("mensagem").asText());
+        assertEquals("Nome é obrigatório", itens.get(1).get("mensagem").asText());
+        assertEquals("O campo nome deve conter no máximo 100 caracteres", itens.get(2).get("mensagem").asText());
+        assertTrue(itens.get(3).get("mensagem").asText().contains("URGENTE"));
+        assertEquals("O item deve ser um objeto JSON", itens.get(4).get("mensagem").asText());
+
+        var criada = exchange("lote-itens", HttpMethod.POST, List.of(lote.get(0)));
+        assertEquals(HttpStatus.CREATED, criada.getStatusCode());
+        var id = objectMapper.readTree(criada.getBody()).get(0).get("id").asText();
+        var alterada = exchange("lote-itens", HttpMethod.PATCH, List.of(
+            Map.of("id", id, "dataPrevistaConclusao", LocalDate.now().minusDays(1).toString()),
+            Map.of("id", id, "nome", "")));
+        assertEquals(HttpStatus.BAD_REQUEST, alterada.getStatusCode());
+        var erros = objectMapper.readTree(alterada.getBody());
+        assertEquals("A data prevista de conclusão não pode ser anterior à data atual", erros.get(0).get("mensagem").asText());
+        assertEquals("O campo nome é obrigatório", erros.get(1).get("mensagem").asText());
+    }
+
+    private JsonNode alteracao(UUID id, String descricao) {
+        return objectMapper.valueToTree(Map.of("id", id, "descricao", descricao));
+    }
+
+    private List<JsonNode> novasTarefas(int quantidade) {
+        var tarefas = new ArrayList<JsonNode>();
+        for (int i = 0; i < quantidade; i++) {
+            tarefas.add(objectMapper.valueToTree(Map.of(
+                "nome", "Tarefa " + i,
+                "prioridade", "MEDIA",
+                "dataPrevistaConclusao", LocalDate.now().plusDays(1).toString())));
+        }
+        return tarefas;
+    }
+
+    private ResponseEntity<String> exchange(String username, HttpMethod method, Object body) {
+        var headers = new HttpHeaders();
+        headers.setBasicAuth(username, "senha");
+        return restTemplate.exchange("/tasks/batch", method, new HttpEntity<>(body, headers), String.class);
+    }
+
+    private void criarUsuario(String username) {
+        var user = new UserModel();
+        user.setUsername(username);
+        user.setName(username);
+        user.setPassword(BCrypt.withDefaults().hashToString(4, "senha".toCharArray()));
+        userRepository.save(user);
+    }
+}
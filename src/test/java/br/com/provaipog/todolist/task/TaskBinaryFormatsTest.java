@@ -0,0 +1,95 @@
+package br.com.provaipog.todolist.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import at.favre.lib.crypto.bcrypt.BCrypt;
+import br.com.provaipog.todolist.user.IUserRepository;
+import br.com.provaipog.todolist.user.UserModel;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TaskBinaryFormatsTest {
+
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private IUserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testTasksAreReadAndWrittenInCborAndSmile() throws Exception {
+        criarUsuario("binario");
+        var cbor = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+        var smile = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+
+        var corpo = cbor.writeValueAsBytes(Map.of(
+            "nome", "Tarefa binária", "prioridade", "ALTA", "dataPrevistaConclusao", LocalDate.now().plusDays(1).toString()));
+        var criada = exchange(HttpMethod.POST, "/tasks/", CBOR, CBOR, corpo);
+        assertEquals(HttpStatus.CREATED, criada.getStatusCode());
+        assertTrue(CBOR.isCompatibleWith(criada.getHeaders().getContentType()));
+        // UUIDs vão como 16 bytes binários, não como texto
+        var id = cbor.readValue(criada.getBody(), TaskModel.class).getId();
+
+        var tarefa = exchange(HttpMethod.GET, "/tasks/" + id, SMILE, null, null);
+        assertTrue(SMILE.isCompatibleWith(tarefa.getHeaders().getContentType()));
+        assertEquals("Tarefa binária", smile.readValue(tarefa.getBody(), TaskModel.class).getNome());
+        assertTrue(tarefa.getHeaders().getVary().contains(HttpHeaders.ACCEPT));
+
+        var lote = smile.writeValueAsBytes(List.of(Map.of(
+            "nome", "Em lote", "prioridade", "BAIXA", "dataPrevistaConclusao", LocalDate.now().plusDays(2).toString())));
+        assertEquals(HttpStatus.CREATED, exchange(HttpMethod.POST, "/tasks/batch", CBOR, SMILE, lote).getStatusCode());
+
+        var lista = exchange(HttpMethod.GET, "/tasks/?size=10", CBOR, null, null);
+        assertEquals(2, cbor.readTree(lista.getBody()).get("content").size());
+
+        // Sem Accept a resposta continua em JSON
+        var json = exchange(HttpMethod.GET, "/tasks/" + id, null, null, null);
+        assertTrue(MediaType.APPLICATION_JSON.isCompatibleWith(json.getHeaders().getContentType()));
+        assertEquals("Tarefa binária", objectMapper.readTree(json.getBody()).get("nome").asText());
+    }
+
+    private ResponseEntity<byte[]> exchange(HttpMethod method, String url, MediaType accept, MediaType contentType, byte[] body) {
+        var headers = new HttpHeaders();
+        headers.setBasicAuth("binario", "senha");
+        if (accept != null) {
+            headers.setAccept(List.of(accept));
+        }
+        if (contentType != null) {
+            headers.setContentType(contentType);
+        }
+        return restTemplate.exchange(url, method, new HttpEntity<>(body, headers), byte[].class);
+    }
+
+    private void criarUsuario(String username) {
+        var user = new UserModel();
+        user.setUsername(username);
+        user.setName(username);
+        user.setPassword(BCrypt.withDefaults().hashToString(4, "senha".toCharArray()));
+        userRepository.save(user);
+    }
+}
@@ -0,0 +1,173 @@
+package br.com.provaipog.todolist.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class TaskCacheTest {
+
+    @Autowired
+    private TaskCache taskCache;
+
+    @Autowired
+    private ITaskRepository taskRepository;
+
+    @Test
+    void testHitsReturnIsolatedCopies() throws Exception {
+        var task = taskRepository.save(novaTarefa("Original"));
+        var consultas = new AtomicInteger();
+
+        var primeira = buscar(task, consultas);
+        primeira.setNome("Alterada sem salvar");
+        var segunda = buscar(task, consultas);
+
+        assertEquals(1, consultas.get());
+        assertEquals("Original", segunda.getNome());
+        assertNotSame(primeira, segunda);
+    }
+
+    @Test
+    void testSaveAndDeleteInvalidate() throws Exception {
+        var task = taskRepository.save(novaTarefa("Original"));
+        var consultas = new AtomicInteger();
+        buscar(task, consultas);
+
+        var alterada = buscar(task, consultas);
+        alterada.setNome("Renomeada");
+        taskRepository.save(alterada);
+
+        assertEquals("Renomeada", buscar(task, consultas).getNome());
+        assertEquals(2, consultas.get());
+
+        taskRepository.deleteById(task.getId());
+
+        assertNull(buscar(task, consultas));
+    }
+
+    @Test
+    void testOtherUsersAreCachedSeparately() throws Exception {
+        var task = taskRepository.save(novaTarefa("Original"));
+        var consultas = new AtomicInteger();
+        buscar(task, consultas);
+
+        var vista = taskCache.buscar(task.getId(), UUID.randomUUID(), () -> {
+            consultas.incrementAndGet();
+            return taskRepository.findById(task.getId());
+        });
+
+        assertEquals(task.getIdUser(), vista.getIdUser());
+        assertEquals(2, consultas.get());
+    }
+
+    @Test
+    void testHitRatioAndEvictionsAreCounted() throws Exception {
+        var pequeno = new TaskCache(2, Duration.ofMinutes(1));
+        var tarefas = new ArrayList<TaskModel>();
+        for (int i = 0; i < 3; i++) {
+            var task = novaTarefa("Tarefa " + i);
+            task.setId(UUID.randomUUID());
+            tarefas.add(task);
+            pequeno.buscar(task.getId(), task.getIdUser(), () -> Optional.of(task));
+        }
+        var ultima = tarefas.get(2);
+        pequeno.buscar(ultima.getId(), ultima.getIdUser(), () -> Optional.of(ultima));
+
+        assertEquals(1, pequeno.getCache().getEvictions());
+        assertEquals(1, pequeno.getCache().getHits());
+        assertEquals(0.25, pequeno.getCache().getHitRatio(), 0.0001);
+    }
+
+    @Test
+    void testNoStaleReadsAfterConcurrentWrites() throws Exception {
+        var task = taskRepository.save(novaTarefa("Concorrente"));
+        task.setDescricao("0");
+        taskRepository.save(task);
+
+        int escritas = 200;
+        int leitores = 4;
+        var confirmada = new AtomicLong();
+        var terminou = new AtomicBoolean();
+        var leiturasObsoletas = new AtomicInteger();
+        var leituras = new AtomicInteger();
+        var inicio = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(leitores + 1);
+
+        try {
+            var resultados = new ArrayList<Future<?>>();
+            for (int r = 0; r < leitores; r++) {
+                resultados.add(executor.submit(() -> {
+                    inicio.await();
+                    while (!terminou.get()) {
+                        // Toda escrita confirmada antes da leitura precisa estar visível nela
+                        long minima = confirmada.get();
+                        var lida = taskCache.buscar(task.getId(), task.getIdUser(),
+                            () -> taskRepository.findById(task.getId()));
+                        if (Long.parseLong(lida.getDescricao()) < minima) {
+                            leiturasObsoletas.incrementAndGet();
+                        }
+                        leituras.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            resultados.add(executor.submit(() -> {
+                inicio.await();
+                try {
+                    for (int i = 1; i <= escritas; i++) {
+                        var atual = taskRepository.findById(task.getId()).orElseThrow();
+                        atual.setDescricao(String.valueOf(i));
+                        taskRepository.save(atual);
+                        confirmada.set(i);
+                    }
+                } finally {
+                    terminou.set(true);
+                }
+                return null;
+            }));
+
+            inicio.countDown();
+            for (var resultado : resultados) {
+                resultado.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, leiturasObsoletas.get());
+        assertTrue(leituras.get() > escritas, "leituras: " + leituras.get());
+        assertTrue(taskCache.getCache().getHits() > 0);
+    }
+
+    private TaskModel buscar(TaskModel task, AtomicInteger consultas) {
+        return taskCache.buscar(task.getId(), task.getIdUser(), () -> {
+            consultas.incrementAndGet();
+            return taskRepository.findById(task.getId());
+        });
+    }
+
+    private static TaskModel novaTarefa(String nome) throws Exception {
+        var task = new TaskModel();
+        task.setIdUser(UUID.randomUUID());
+        task.setNome(nome);
+        task.setPrioridade(Priority.MEDIA);
+        task.setSituacao(Situation.ABERTA);
+        task.setDataPrevistaConclusao(LocalDate.now().plusDays(1));
+        return task;
+    }
+}
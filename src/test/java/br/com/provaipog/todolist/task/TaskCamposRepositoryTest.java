@@ -0,0 +1,65 @@
+package br.com.provaipog.todolist.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+
+@DataJpaTest
+class TaskCamposRepositoryTest {
+
+    @Autowired
+    private ITaskRepository taskRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void testReadsOnlyRequestedColumnsWithoutManagingEntities() throws Exception {
+        var idUser = UUID.randomUUID();
+        var tasks = new ArrayList<TaskModel>();
+        for (int i = 0; i < 5; i++) {
+            var task = new TaskModel();
+            task.setIdUser(idUser);
+            task.setNome("Tarefa " + i);
+            task.setDescricao("Descrição longa " + i);
+            task.setPrioridade(Priority.values()[i % 3]);
+            task.setDataPrevistaConclusao(LocalDate.now().plusDays(i));
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+        entityManager.flush();
+        entityManager.clear();
+
+        var spec = TaskSpecifications.comFiltros(idUser, null, Priority.BAIXA, null);
+        var sort = TaskSpecifications.ordenacao(Sort.Direction.DESC, "nome");
+        var linhas = taskRepository.buscarCampos(spec, List.of("nome", "id", "prioridade"), sort, 0, 10);
+
+        assertEquals(List.of("nome", "id", "prioridade"), List.copyOf(linhas.get(0).keySet()));
+        assertEquals(List.of("Tarefa 3", "Tarefa 0"), linhas.stream().map(l -> l.get("nome")).toList());
+        assertEquals(Priority.BAIXA, linhas.get(0).get("prioridade"));
+        assertEquals(tasks.get(3).getId(), linhas.get(0).get("id"));
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+
+        var pagina = taskRepository.buscarCampos(spec, List.of("id"), sort, 1, 10);
+        assertEquals(tasks.get(0).getId(), pagina.get(0).get("id"));
+    }
+
+    @Test
+    void testFieldsParameterAcceptsAliasesAndRejectsUnknownFields() {
+        assertEquals(List.of("id", "nome", "dataPrevistaConclusao"), TaskCampos.parse("id, name,dueDate,nome"));
+
+        var erro = assertThrows(IllegalArgumentException.class, () -> TaskCampos.parse("id,senha"));
+        assertEquals("Campo inválido: senha", erro.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> TaskCampos.parse(" , "));
+    }
+}
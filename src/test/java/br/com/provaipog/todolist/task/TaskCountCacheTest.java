@@ -0,0 +1,39 @@
+package br.com.provaipog.todolist.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class TaskCountCacheTest {
+
+    private final TaskCountCache cache = new TaskCountCache(100, Duration.ofMinutes(1));
+
+    @Test
+    void testCountIsComputedOnlyWhenStale() {
+        var idUser = UUID.randomUUID();
+        var consultas = new AtomicInteger();
+
+        assertEquals(5, cache.count(idUser, null, null, null, () -> { consultas.incrementAndGet(); return 5; }));
+        assertEquals(5, cache.count(idUser, null, null, null, () -> { consultas.incrementAndGet(); return 7; }));
+        assertEquals(1, consultas.get());
+
+        cache.invalidate(idUser);
+
+        assertEquals(7, cache.count(idUser, null, null, null, () -> { consultas.incrementAndGet(); return 7; }));
+        assertEquals(2, consultas.get());
+    }
+
+    @Test
+    void testFiltersAreCachedSeparately() {
+        var idUser = UUID.randomUUID();
+
+        cache.count(idUser, null, null, null, () -> 5);
+
+        assertEquals(2, cache.count(idUser, "x", null, null, () -> 2));
+        assertEquals(1, cache.count(idUser, null, Priority.ALTA, null, () -> 1));
+    }
+}
@@ -0,0 +1,94 @@
+package br.com.provaipog.todolist.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+@DataJpaTest
+class TaskCursorPaginationTest {
+
+    @Autowired
+    private ITaskRepository taskRepository;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        userId = UUID.randomUUID();
+        var tasks = new ArrayList<TaskModel>();
+        for (int i = 0; i < 9; i++) {
+            var task = new TaskModel();
+            task.setIdUser(userId);
+            task.setNome("Tarefa " + (i % 4));
+            task.setDescricao(i % 3 == 0 ? null : "Descrição " + (i % 2));
+            task.setPrioridade(Priority.values()[i % 3]);
+            task.setSituacao(Situation.values()[i % 2]);
+            task.setDataPrevistaConclusao(LocalDate.now().plusDays(i % 3));
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    @Test
+    void testCursorWalkMatchesFullOrderingForEverySortField() {
+        for (String campo : TaskCursor.CAMPOS_ORDENACAO) {
+            for (Sort.Direction direcao : Sort.Direction.values()) {
+                var spec = TaskSpecifications.comFiltros(userId, null, null, null);
+                var sort = Sort.by(direcao, campo).and(Sort.by(direcao, "id"));
+
+                var esperado = taskRepository.findAll(spec, sort).stream().map(TaskModel::getId).toList();
+                var percorrido = percorrer(spec, campo, direcao, 2);
+
+                assertEquals(esperado, percorrido, campo + " " + direcao);
+            }
+        }
+    }
+
+    @Test
+    void testCursorWalkHonorsFilters() {
+        var spec = TaskSpecifications.comFiltros(userId, "tarefa 1", null, Situation.PENDENTE);
+
+        var percorrido = percorrer(spec, "nome", Sort.Direction.ASC, 1);
+
+        assertEquals(taskRepository.findAll(spec).size(), percorrido.size());
+        assertFalse(percorrido.isEmpty());
+    }
+
+    @Test
+    void testCursorRoundTrip() throws Exception {
+        var task = taskRepository.findByIdUser(userId).get(0);
+        var cursor = TaskCursor.depoisDe(task, "dataPrevistaConclusao", Sort.Direction.DESC);
+
+        var decoded = TaskCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+        assertThrows(IllegalArgumentException.class, () -> TaskCursor.decode("invalido"));
+    }
+
+    private List<UUID> percorrer(Specification<TaskModel> filtros, String campo, Sort.Direction direcao, int tamanho) {
+        var ids = new ArrayList<UUID>();
+        var sort = TaskSpecifications.ordenacao(direcao, campo);
+        TaskCursor cursor = null;
+        while (true) {
+            var spec = cursor == null ? filtros : filtros.and(TaskSpecifications.aposCursor(cursor));
+            var linhas = taskRepository.findBy(spec, q -> q.sortBy(sort).limit(tamanho + 1).all());
+            var pagina = linhas.subList(0, Math.min(tamanho, linhas.size()));
+            pagina.forEach(task -> ids.add(task.getId()));
+            if (linhas.size() <= tamanho) {
+                return ids;
+            }
+            cursor = TaskCursor.decode(
+                TaskCursor.depoisDe(pagina.get(pagina.size() - 1), campo, direcao).encode());
+        }
+    }
+}
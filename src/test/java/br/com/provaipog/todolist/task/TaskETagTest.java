@@ -0,0 +1,110 @@
+package br.com.provaipog.todolist.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import at.favre.lib.crypto.bcrypt.BCrypt;
+import br.com.provaipog.todolist.user.IUserRepository;
+import br.com.provaipog.todolist.user.UserModel;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TaskETagTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private IUserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    @Test
+    void testConditionalGetAnswers304UntilTheNextWrite() throws Exception {
+        criarUsuario("etag-dono");
+        criarUsuario("etag-outro");
+        var criada = exchange("etag-dono", HttpMethod.POST, "/tasks/", null, Map.of(
+            "nome", "Tarefa", "prioridade", "ALTA", "dataPrevistaConclusao", LocalDate.now().plusDays(1).toString()));
+        var id = objectMapper.readTree(criada.getBody()).get("id").asText();
+
+        var lista = exchange("etag-dono", HttpMethod.GET, "/tasks/", null, null);
+        var tarefa = exchange("etag-dono", HttpMethod.GET, "/tasks/" + id, null, null);
+        var etagLista = lista.getHeaders().getETag();
+        var etagTarefa = tarefa.getHeaders().getETag();
+        assertNotNull(etagLista);
+        assertNotNull(etagTarefa);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, exchange("etag-dono", HttpMethod.GET, "/tasks/", etagLista, null).getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, exchange("etag-dono", HttpMethod.GET, "/tasks/" + id, etagTarefa, null).getStatusCode());
+        // A ETag do dono não vale para outro usuário
+        assertEquals(HttpStatus.FORBIDDEN, exchange("etag-outro", HttpMethod.GET, "/tasks/" + id, etagTarefa, null).getStatusCode());
+
+        var alterada = exchange("etag-dono", HttpMethod.PUT, "/tasks/" + id, null, Map.of(
+            "nome", "Alterada", "prioridade", "ALTA", "dataPrevistaConclusao", LocalDate.now().plusDays(2).toString()));
+        assertEquals(HttpStatus.OK, alterada.getStatusCode());
+
+        var novaLista = exchange("etag-dono", HttpMethod.GET, "/tasks/", etagLista, null);
+        var novaTarefa = exchange("etag-dono", HttpMethod.GET, "/tasks/" + id, etagTarefa, null);
+        assertEquals(HttpStatus.OK, novaLista.getStatusCode());
+        assertEquals(HttpStatus.OK, novaTarefa.getStatusCode());
+        assertNotEquals(etagLista, novaLista.getHeaders().getETag());
+        assertEquals("Alterada", objectMapper.readTree(novaTarefa.getBody()).get("nome").asText());
+    }
+
+    @Test
+    void testNonOwnerWithAMatchingETagGets403Not304() throws Exception {
+        criarUsuario("etag-dona");
+        var intruso = criarUsuario("etag-intruso");
+        var criada = exchange("etag-dona", HttpMethod.POST, "/tasks/", null, Map.of(
+            "nome", "Privada", "prioridade", "ALTA", "dataPrevistaConclusao", LocalDate.now().plusDays(1).toString()));
+        var id = UUID.fromString(objectMapper.readTree(criada.getBody()).get("id").asText());
+
+        // A ETag que o próprio intruso receberia: época (visível em qualquer resposta dele),
+        // o id dele e a versão da tarefa
+        var etagDele = exchange("etag-intruso", HttpMethod.GET, "/tasks/", null, null).getHeaders().getETag();
+        var epoca = etagDele.substring(3, etagDele.indexOf('-'));
+        var forjada = "W/\"" + epoca + "-" + Integer.toHexString(intruso.hashCode()) + "-" + taskCache.versao(id) + "\"";
+
+        assertEquals(HttpStatus.FORBIDDEN, exchange("etag-intruso", HttpMethod.GET, "/tasks/" + id, forjada, null).getStatusCode());
+        var inexistente = UUID.randomUUID();
+        var forjadaInexistente = "W/\"" + epoca + "-" + Integer.toHexString(intruso.hashCode()) + "-"
+            + taskCache.versao(inexistente) + "\"";
+        assertEquals(HttpStatus.NOT_FOUND,
+            exchange("etag-intruso", HttpMethod.GET, "/tasks/" + inexistente, forjadaInexistente, null).getStatusCode());
+    }
+
+    private ResponseEntity<String> exchange(String username, HttpMethod method, String url, String ifNoneMatch, Object body) {
+        var headers = new HttpHeaders();
+        headers.setBasicAuth(username, "senha");
+        if (ifNoneMatch != null) {
+            headers.setIfNoneMatch(ifNoneMatch);
+        }
+        return restTemplate.exchange(url, method, new HttpEntity<>(body, headers), String.class);
+    }
+
+    private UUID criarUsuario(String username) {
+        var user = new UserModel();
+        user.setUsername(username);
+        user.setName(username);
+        user.setPassword(BCrypt.withDefaults().hashToString(4, "senha".toCharArray()));
+        return userRepository.save(user).getId();
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.provaipog.todolist.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest
+@Transactional
+class TaskExportServiceTest {
+
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private ITaskRepository taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testNdjsonHasOneTaskPerLineInCreationOrder() throws Exception {
+        var idUser = UUID.randomUUID();
+        var salvas = salvar(idUser, 3, "Tarefa");
+        salvar(UUID.randomUUID(), 2, "Outro usuário");
+
+        var linhas = exportar(idUser, TaskExportService.NDJSON).split("\n");
+
+        assertEquals(3, linhas.length);
+        var ids = new HashSet<UUID>();
+        LocalDateTime anterior = null;
+        for (var linha : linhas) {
+            var task = objectMapper.readValue(linha, TaskModel.class);
+            assertEquals(idUser, task.getIdUser());
+            assertTrue(anterior == null || !task.getDataCriacao().isBefore(anterior));
+            anterior = task.getDataCriacao();
+            ids.add(task.getId());
+        }
+        assertEquals(salvas.stream().map(TaskModel::getId).collect(Collectors.toSet()), ids);
+    }
+
+    @Test
+    void testCsvEscapesSeparatorsQuotesAndLineBreaks() throws Exception {
+        var idUser = UUID.randomUUID();
+        var task = novaTarefa(idUser, "Comprar pão, leite");
+        task.setDescricao("Dizer \"oi\"\nna padaria");
+        taskRepository.saveAndFlush(task);
+
+        var csv = exportar(idUser, TaskExportService.CSV);
+
+        assertTrue(csv.startsWith("id,nome,descricao,prioridade,situacao,dataPrevistaConclusao,dataCriacao,idUser\r\n"));
+        assertTrue(csv.contains(task.getId() + ",\"Comprar pão, leite\",\"Dizer \"\"oi\"\"\nna padaria\",MEDIA,ABERTA,"));
+        assertTrue(csv.endsWith("," + idUser + "\r\n"));
+    }
+
+    @Test
+    void testPersistenceContextDoesNotGrowDuringExport() throws Exception {
+        var idUser = UUID.randomUUID();
+        salvar(idUser, 2000, "Volume");
+        var session = entityManager.unwrap(Session.class);
+        var maximo = new int[1];
+        var bytes = new long[1];
+
+        var saida = new OutputStream() {
+            @Override
+            public void write(int b) {
+                write(new byte[] { (byte) b }, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                maximo[0] = Math.max(maximo[0], session.getStatistics().getEntityCount());
+                bytes[0] += len;
+            }
+        };
+        taskExportService.exportar(idUser, TaskExportService.NDJSON, saida);
+
+        assertTrue(bytes[0] > 2000 * 100, "bytes: " + bytes[0]);
+        assertTrue(maximo[0] <= 1, "entidades gerenciadas: " + maximo[0]);
+    }
+
+    private String exportar(UUID idUser, String formato) throws IOException {
+        var saida = new ByteArrayOutputStream();
+        taskExportService.exportar(idUser, formato, saida);
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+
+    private List<TaskModel> salvar(UUID idUser, int quantidade, String prefixo) throws Exception {
+        var tarefas = new ArrayList<TaskModel>();
+        for (int i = 0; i < quantidade; i++) {
+            tarefas.add(novaTarefa(idUser, prefixo + " " + i));
+        }
+        var salvas = taskRepository.saveAll(tarefas);
+        entityManager.flush();
+        entityManager.clear();
+        return salvas;
+    }
+
+    private static TaskModel novaTarefa(UUID idUser, String nome) throws Exception {
+        var task = new TaskModel();
+        task.setIdUser(idUser);
+        task.setNome(nome);
+        task.setPrioridade(Priority.MEDIA);
+        task.setDataPrevistaConclusao(LocalDate.now().plusDays(1));
+        return task;
+    }
+}
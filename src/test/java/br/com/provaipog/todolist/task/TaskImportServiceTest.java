@@ -0,0 +1,149 @@
+package br.com.provaipog.todolist.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = {
+    "todolist.tasks.import.chunk-size=10",
+    "todolist.tasks.import.max-errors=5"
+})
+class TaskImportServiceTest {
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private ITaskRepository taskRepository;
+
+    @Test
+    void testNdjsonImportsValidLinesAndReportsInvalidOnes() throws Exception {
+        var idUser = UUID.randomUUID();
+        var amanha = LocalDate.now().plusDays(1);
+        var ndjson = String.join("\n",
+            "{\"nome\":\"Comprar café\",\"dataPrevistaConclusao\":\"" + amanha + "\"}",
+            "{\"nome\":\"Sem data\"}",
+            "",
+            "{\"nome\":\"Atrasada\",\"dataPrevistaConclusao\":\"2000-01-01\"}",
+            "{\"nome\":",
+            "{\"name\":\"Ligar\",\"priority\":\"ALTA\",\"dueDate\":\"" + amanha + "\",\"idUser\":\"" + UUID.randomUUID() + "\"}");
+
+        var resultado = importar(idUser, TaskExportService.NDJSON, ndjson);
+
+        assertEquals(5, resultado.getLinhas());
+        assertEquals(2, resultado.getImportadas());
+        assertEquals(3, resultado.getRejeitadas());
+        assertEquals(2, resultado.getErros().get(0).getLinha());
+        assertEquals(4, resultado.getErros().get(1).getLinha());
+        assertEquals("A data prevista de conclusão não pode ser anterior à data atual",
+            resultado.getErros().get(1).getMensagem());
+        assertEquals(5, resultado.getErros().get(2).getLinha());
+
+        var tarefas = taskRepository.findByIdUser(idUser);
+        tarefas.sort(Comparator.comparing(TaskModel::getNome));
+        assertEquals(2, tarefas.size());
+        assertEquals(Priority.BAIXA, tarefas.get(0).getPrioridade());
+        assertEquals(Situation.ABERTA, tarefas.get(0).getSituacao());
+        assertEquals(Priority.ALTA, tarefas.get(1).getPrioridade());
+        // Importadas sem JPA, mas indexadas para a busca por nome
+        assertEquals(1, taskRepository.countByIdUserWithFilters(idUser, "café", null, null));
+    }
+
+    @Test
+    void testCsvExportedByOneUserImportsForAnother() throws Exception {
+        var origem = UUID.randomUUID();
+        var task = new TaskModel();
+        task.setIdUser(origem);
+        task.setNome("Comprar pão, leite");
+        task.setDescricao("Dizer \"oi\"\nna padaria");
+        task.setPrioridade(Priority.MEDIA);
+        task.setDataPrevistaConclusao(LocalDate.now().plusDays(2));
+        taskRepository.save(task);
+        var saida = new ByteArrayOutputStream();
+        taskExportService.exportar(origem, TaskExportService.CSV, saida);
+        var csv = saida.toString(StandardCharsets.UTF_8) + ",X,,URGENTE,,2999-01-01,,\r\n";
+
+        var destino = UUID.randomUUID();
+        var resultado = importar(destino, TaskExportService.CSV, csv);
+
+        assertEquals(1, resultado.getImportadas());
+        // Cabeçalho na linha 1 e o registro com quebra de linha ocupa as linhas 2 e 3
+        assertEquals(4, resultado.getErros().get(0).getLinha());
+        assertEquals("Prioridade inválida: URGENTE", resultado.getErros().get(0).getMensagem());
+        var importada = taskRepository.findByIdUser(destino).get(0);
+        assertNotEquals(task.getId(), importada.getId());
+        assertEquals(task.getNome(), importada.getNome());
+        assertEquals(task.getDescricao(), importada.getDescricao());
+        assertEquals(task.getDataPrevistaConclusao(), importada.getDataPrevistaConclusao());
+    }
+
+    @Test
+    void testLargeImportIsWrittenInChunksAndCapsErrorDetails() throws Exception {
+        var idUser = UUID.randomUUID();
+        var amanha = LocalDate.now().plusDays(1);
+        var ndjson = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            // uma linha inválida a cada 100
+            var data = i % 100 == 0 ? "2000-01-01" : amanha.toString();
+            ndjson.append("{\"nome\":\"Tarefa ").append(i).append("\",\"dataPrevistaConclusao\":\"")
+                .append(data).append("\"}\n");
+        }
+
+        var resultado = importar(idUser, TaskExportService.NDJSON, ndjson.toString());
+
+        assertEquals(1000, resultado.getLinhas());
+        assertEquals(990, resultado.getImportadas());
+        assertEquals(10, resultado.getRejeitadas());
+        assertEquals(5, resultado.getErros().size());
+        assertEquals(990, taskRepository.countByIdUserWithFilters(idUser, null, null, null));
+    }
+
+    @Test
+    void testNullAndOverlongLinesAreRejectedWithoutStoppingTheImport() throws Exception {
+        var idUser = UUID.randomUUID();
+        var amanha = LocalDate.now().plusDays(1);
+        var valida = "{\"nome\":\"Válida\",\"dataPrevistaConclusao\":\"" + amanha + "\"}";
+        var longa = "{\"nome\":\"" + "x".repeat(100_000) + "\"}";
+        var ndjson = String.join("\r\n", valida, "null", longa, valida);
+
+        var resultado = importar(idUser, TaskExportService.NDJSON, ndjson);
+
+        assertEquals(4, resultado.getLinhas());
+        assertEquals(2, resultado.getImportadas());
+        assertEquals(2, resultado.getErros().get(0).getLinha());
+        assertEquals("A linha deve ser um objeto JSON", resultado.getErros().get(0).getMensagem());
+        assertEquals(3, resultado.getErros().get(1).getLinha());
+        assertEquals("A linha tem mais de 16384 caracteres", resultado.getErros().get(1).getMensagem());
+
+        // No CSV o limite vale para o registro, inclusive campos entre aspas com quebras de linha
+        var csv = String.join("\n",
+            "nome,dataPrevistaConclusao",
+            "\"" + "linha\n".repeat(20_000) + "\"," + amanha,
+            "Depois da longa," + amanha);
+
+        resultado = importar(idUser, TaskExportService.CSV, csv);
+
+        assertEquals(2, resultado.getLinhas());
+        assertEquals(1, resultado.getImportadas());
+        assertEquals(2, resultado.getErros().get(0).getLinha());
+        assertEquals("A linha tem mais de 16384 caracteres", resultado.getErros().get(0).getMensagem());
+        assertEquals(3, taskRepository.countByIdUserWithFilters(idUser, null, null, null));
+    }
+
+    private TaskImportResult importar(UUID idUser, String formato, String corpo) throws Exception {
+        return taskImportService.importar(idUser, formato,
+            new ByteArrayInputStream(corpo.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.provaipog.todolist.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Confere nos planos do H2 (EXPLAIN) que as consultas da listagem usam os índices de tb_tasks.
+ */
+@DataJpaTest
+class TaskIndexTest {
+
+    private static final String USUARIO = "'00000000-0000-0000-0000-000000000007'";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        entityManager.createNativeQuery(TaskIndexVolumeTest.inserirTarefas(20_000, 50)).executeUpdate();
+        entityManager.createNativeQuery("ANALYZE").executeUpdate();
+    }
+
+    @Test
+    void testFilterByUserSituacaoPrioridadeUsesCompositeIndex() {
+        var plano = explain("SELECT * FROM tb_tasks WHERE id_user = " + USUARIO
+            + " AND situacao = 'ABERTA' AND prioridade = 'ALTA'");
+
+        assertTrue(plano.contains("IDX_TASKS_USUARIO_SITUACAO_PRIORIDADE"), plano);
+    }
+
+    @Test
+    void testListingOrderedBySortFieldIsIndexSorted() {
+        assertIndexSorted("nome", "IDX_TASKS_USUARIO_NOME");
+        assertIndexSorted("descricao", "IDX_TASKS_USUARIO_DESCRICAO");
+        assertIndexSorted("prioridade", "IDX_TASKS_USUARIO_PRIORIDADE");
+        assertIndexSorted("data_prevista_conclusao", "IDX_TASKS_USUARIO_DATA_PREVISTA");
+        assertIndexSorted("data_criacao", "IDX_TASKS_USUARIO_CRIACAO");
+    }
+
+    @Test
+    void testListingOrderedBySituacaoUsesSituacaoIndex() {
+        var plano = explain("SELECT * FROM tb_tasks WHERE id_user = " + USUARIO + " ORDER BY id_user, situacao");
+
+        assertTrue(plano.contains("IDX_TASKS_USUARIO_SITUACAO_PRIORIDADE"), plano);
+        assertTrue(plano.contains("index sorted"), plano);
+    }
+
+    @Test
+    void testDueDateRangeOfOpenTasksUsesSituacaoDateIndex() {
+        // Consulta de carga do TaskOverdueDetector
+        var plano = explain("SELECT id, id_user, data_prevista_conclusao FROM tb_tasks "
+            + "WHERE situacao IN ('ABERTA', 'PENDENTE') AND data_prevista_conclusao >= DATE '2030-01-01' "
+            + "AND data_prevista_conclusao < DATE '2030-01-03'");
+
+        assertTrue(plano.contains("IDX_TASKS_SITUACAO_DATA_PREVISTA"), plano);
+    }
+
+    private void assertIndexSorted(String coluna, String indice) {
+        // Mesmo formato do SQL gerado para TaskSpecifications.ordenacao
+        var plano = explain("SELECT * FROM tb_tasks WHERE id_user = " + USUARIO
+            + " ORDER BY id_user, " + coluna + ", id FETCH FIRST 11 ROWS ONLY");
+
+        assertTrue(plano.contains(indice), plano);
+        assertTrue(plano.contains("index sorted"), plano);
+    }
+
+    private String explain(String sql) {
+        return entityManager.createNativeQuery("EXPLAIN " + sql).getSingleResult().toString();
+    }
+}
@@ -0,0 +1,168 @@
+package br.com.provaipog.todolist.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Latência da listagem com 1M de tarefas antes e depois dos índices de tb_tasks,
+ * e da busca por nome com o índice de trigramas conforme o volume cresce.
+ * Lento; só roda com {@code mvn test -Dtest=TaskIndexVolumeTest -Dtodolist.volume=true}.
+ */
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "todolist.volume", matches = "true")
+class TaskIndexVolumeTest {
+
+    private static final int TAREFAS = 1_000_000;
+    private static final int USUARIOS = 1_000;
+    private static final String USUARIO = "'00000000-0000-0000-0000-000000000007'";
+
+    private static final List<String> INDICES = List.of(
+        "CREATE INDEX idx_tasks_usuario_situacao_prioridade ON tb_tasks (id_user, situacao, prioridade)",
+        "CREATE INDEX idx_tasks_usuario_data_prevista ON tb_tasks (id_user, data_prevista_conclusao, id)",
+        "CREATE INDEX idx_tasks_usuario_nome ON tb_tasks (id_user, nome, id)",
+        "CREATE INDEX idx_tasks_usuario_prioridade ON tb_tasks (id_user, prioridade, id)",
+        "CREATE INDEX idx_tasks_usuario_criacao ON tb_tasks (id_user, data_criacao, id)",
+        "CREATE INDEX idx_tasks_usuario_descricao ON tb_tasks (id_user, descricao, id)");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ITaskRepository taskRepository;
+
+    @AfterEach
+    void tearDown() {
+        var jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("TRUNCATE TABLE tb_tasks");
+        jdbc.execute("TRUNCATE TABLE tb_task_trigrams");
+        for (String ddl : INDICES) {
+            jdbc.execute(ddl.replace("CREATE INDEX", "CREATE INDEX IF NOT EXISTS"));
+        }
+    }
+
+    @Test
+    void testListingLatencyWithAndWithoutIndexes() {
+        var jdbc = new JdbcTemplate(dataSource);
+        for (String ddl : INDICES) {
+            jdbc.execute("DROP INDEX " + ddl.split(" ")[2]);
+        }
+        jdbc.execute(inserirTarefas(TAREFAS, USUARIOS));
+        jdbc.execute("ANALYZE");
+
+        var consultas = List.of(
+            "SELECT * FROM tb_tasks WHERE id_user = " + USUARIO + " ORDER BY id_user, nome, id FETCH FIRST 11 ROWS ONLY",
+            "SELECT * FROM tb_tasks WHERE id_user = " + USUARIO + " ORDER BY id_user, data_prevista_conclusao, id FETCH FIRST 11 ROWS ONLY",
+            "SELECT * FROM tb_tasks WHERE id_user = " + USUARIO + " AND situacao = 'ABERTA' AND prioridade = 'ALTA'",
+            "SELECT COUNT(*) FROM tb_tasks WHERE id_user = " + USUARIO);
+
+        var antes = consultas.stream().mapToDouble(sql -> medir(jdbc, sql)).toArray();
+
+        INDICES.forEach(jdbc::execute);
+        jdbc.execute("ANALYZE");
+
+        var depois = consultas.stream().mapToDouble(sql -> medir(jdbc, sql)).toArray();
+
+        System.out.printf("%n%d tarefas, %d usuários%n%12s %12s  consulta%n", TAREFAS, USUARIOS, "antes (ms)", "depois (ms)");
+        for (int i = 0; i < consultas.size(); i++) {
+            System.out.printf("%12.3f %12.3f  %s%n", antes[i], depois[i], consultas.get(i));
+            assertTrue(depois[i] < antes[i], consultas.get(i));
+        }
+    }
+
+    @Test
+    void testNameSearchLatencyStaysFlatWithTrigramIndex() {
+        var jdbc = new JdbcTemplate(dataSource);
+        var idUser = UUID.randomUUID();
+        var pageable = PageRequest.of(0, 10, TaskSpecifications.ordenacao(Sort.Direction.ASC, "nome"));
+        int inseridas = 0;
+
+        System.out.printf("%n%10s %14s %14s%n", "tarefas", "trigramas (ms)", "LIKE (ms)");
+        for (int total : new int[] { 1_000, 10_000, 100_000 }) {
+            inserirComTrigramas(jdbc, idUser, inseridas, total);
+            inseridas = total;
+            jdbc.execute("ANALYZE");
+
+            // "orçamento" aparece em uma tarefa a cada 20 mil: o resultado quase não cresce com o volume
+            double comIndice = medir(() -> taskRepository.findByIdUserWithFilters(idUser, "Orçamento", null, null, pageable));
+            double semIndice = medir(() -> taskRepository.buscarComFiltros(idUser, "Orçamento", null, null, pageable));
+
+            System.out.printf("%10d %14.3f %14.3f%n", total, comIndice, semIndice);
+            assertEquals((total - 1) / 20_000 + 1, taskRepository.findByIdUserWithFilters(idUser, "Orçamento", null, null, pageable)
+                .getTotalElements());
+            if (total == 100_000) {
+                assertTrue(comIndice < semIndice);
+            }
+        }
+    }
+
+    private static void inserirComTrigramas(JdbcTemplate jdbc, UUID idUser, int de, int ate) {
+        var tarefas = new ArrayList<Object[]>();
+        var trigramas = new ArrayList<Object[]>();
+        for (int i = de; i < ate; i++) {
+            var id = UUID.randomUUID();
+            var nome = (i % 20_000 == 0 ? "Orçamento " : "Tarefa de rotina ") + i;
+            tarefas.add(new Object[] { id, idUser, nome });
+            for (String trigrama : TaskTrigrams.of(nome)) {
+                trigramas.add(new Object[] { id, trigrama, idUser });
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO tb_tasks (id, id_user, nome, prioridade, situacao, data_prevista_conclusao, "
+            + "data_criacao) VALUES (?, ?, ?, 'MEDIA', 'ABERTA', CURRENT_DATE, CURRENT_TIMESTAMP)", tarefas);
+        jdbc.batchUpdate("INSERT INTO tb_task_trigrams (task_id, trigram, id_user) VALUES (?, ?, ?)", trigramas);
+    }
+
+    private static double medir(Runnable consulta) {
+        for (int i = 0; i < 3; i++) {
+            consulta.run();
+        }
+        int execucoes = 10;
+        long inicio = System.nanoTime();
+        for (int i = 0; i < execucoes; i++) {
+            consulta.run();
+        }
+        return (System.nanoTime() - inicio) / 1_000_000.0 / execucoes;
+    }
+
+    private static double medir(JdbcTemplate jdbc, String sql) {
+        for (int i = 0; i < 3; i++) {
+            jdbc.queryForList(sql);
+        }
+        int execucoes = 10;
+        long inicio = System.nanoTime();
+        for (int i = 0; i < execucoes; i++) {
+            jdbc.queryForList(sql);
+        }
+        return (System.nanoTime() - inicio) / 1_000_000.0 / execucoes;
+    }
+
+    /** INSERT ... SELECT que gera tarefas distribuídas entre usuários de ids previsíveis. */
+    static String inserirTarefas(int tarefas, int usuarios) {
+        return "INSERT INTO tb_tasks (id, id_user, nome, descricao, prioridade, situacao, data_prevista_conclusao, data_criacao) "
+            + "SELECT RANDOM_UUID(), "
+            + "CAST('00000000-0000-0000-0000-' || LPAD(CAST(MOD(X, " + usuarios + ") AS VARCHAR), 12, '0') AS UUID), "
+            + "'Tarefa ' || X, 'Descrição ' || MOD(X, 97), "
+            + "CASE MOD(X, 3) WHEN 0 THEN 'ALTA' WHEN 1 THEN 'MEDIA' ELSE 'BAIXA' END, "
+            + "CASE MOD(X, 3) WHEN 0 THEN 'ABERTA' WHEN 1 THEN 'PENDENTE' ELSE 'CONCLUIDA' END, "
+            + "DATEADD('DAY', MOD(X, 365), CURRENT_DATE), DATEADD('SECOND', -X, CURRENT_TIMESTAMP) "
+            + "FROM SYSTEM_RANGE(1, " + tarefas + ")";
+    }
+}
@@ -0,0 +1,152 @@
+package br.com.provaipog.todolist.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+// Tick de 1h: a verificação agendada não compete com as chamadas do teste
+@SpringBootTest(properties = "todolist.tasks.overdue.tick=1h")
+@RecordApplicationEvents
+class TaskOverdueDetectorTest {
+
+    @Autowired
+    private TaskOverdueDetector detector;
+
+    @Autowired
+    private ITaskRepository taskRepository;
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @AfterEach
+    void tearDown() {
+        detector.reiniciar(Clock.systemDefaultZone());
+    }
+
+    @Test
+    void testEmitsOnceWhenTheDayEndsForTasksStillOpenFromEveryWritePath() throws Exception {
+        var hoje = LocalDate.now();
+        var idUser = UUID.randomUUID();
+        // Gravada antes da subida e por fora dos listeners: entra pela carga do índice
+        var carregada = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO tb_tasks (id, nome, prioridade, situacao, data_prevista_conclusao, "
+            + "data_criacao, id_user) VALUES (?, 'Carregada', 'ALTA', 'PENDENTE', ?, CURRENT_TIMESTAMP, ?)",
+            carregada, hoje, idUser);
+        var relogio = new Relogio(hoje.atTime(LocalTime.of(10, 0)).atZone(ZoneId.systemDefault()).toInstant());
+        detector.reiniciar(relogio);
+
+        var aberta = taskRepository.save(novaTarefa(idUser, "Aberta", hoje));
+        var concluida = taskRepository.save(novaTarefa(idUser, "Concluída", hoje));
+        taskRepository.alterarSituacao(concluida.getId(), idUser, Situation.CONCLUIDA);
+        var removida = taskRepository.save(novaTarefa(idUser, "Removida", hoje));
+        taskRepository.delete(removida);
+        var adiada = taskRepository.save(novaTarefa(idUser, "Adiada", hoje));
+        var alterada = taskRepository.findById(adiada.getId()).orElseThrow();
+        alterada.setDataPrevistaConclusao(hoje.plusDays(5));
+        taskRepository.save(alterada);
+        // Concluída por fora dos listeners: descartada na conferência do vencimento
+        var porFora = taskRepository.save(novaTarefa(idUser, "Por fora", hoje));
+        jdbcTemplate.update("UPDATE tb_tasks SET situacao = 'CONCLUIDA' WHERE id = ?", porFora.getId());
+        var idImportador = UUID.randomUUID();
+        var ndjson = "{\"nome\":\"Importada\",\"prioridade\":\"ALTA\",\"dataPrevistaConclusao\":\"" + hoje + "\"}";
+        taskImportService.importar(idImportador, TaskExportService.NDJSON,
+            new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+        var importada = jdbcTemplate.queryForObject("SELECT id FROM tb_tasks WHERE id_user = ?", UUID.class, idImportador);
+
+        relogio.agora = hoje.atTime(LocalTime.MAX).atZone(ZoneId.systemDefault()).toInstant();
+        detector.verificar();
+        assertEquals(Set.of(), vencidas(idUser, idImportador));
+
+        relogio.agora = hoje.plusDays(1).atTime(1, 0, 1).atZone(ZoneId.systemDefault()).toInstant();
+        detector.verificar();
+        assertEquals(Set.of(carregada, aberta.getId(), importada), vencidas(idUser, idImportador));
+
+        relogio.agora = relogio.agora.plusSeconds(3 * 24 * 3600);
+        detector.verificar();
+        assertEquals(3, events.stream(TaskOverdueEvent.class)
+            .filter(evento -> evento.idUser().equals(idUser) || evento.idUser().equals(idImportador)).count());
+    }
+
+    @Test
+    void testTasksBeyondTheHorizonAreLoadedWhenItReachesThem() throws Exception {
+        var hoje = LocalDate.now();
+        var idUser = UUID.randomUUID();
+        var relogio = new Relogio(hoje.atTime(LocalTime.NOON).atZone(ZoneId.systemDefault()).toInstant());
+        detector.reiniciar(relogio);
+        var distante = taskRepository.save(novaTarefa(idUser, "Distante", hoje.plusDays(3)));
+        int agendadas = detector.agendadas();
+
+        // Dois dias depois a data entra no horizonte de 1 dia e é lida pelo índice
+        relogio.agora = relogio.agora.plusSeconds(2 * 24 * 3600);
+        detector.carregar();
+        assertEquals(agendadas + 1, detector.agendadas());
+
+        relogio.agora = hoje.plusDays(4).atTime(1, 0, 1).atZone(ZoneId.systemDefault()).toInstant();
+        detector.verificar();
+        assertEquals(Set.of(distante.getId()), vencidas(idUser));
+    }
+
+    private Set<UUID> vencidas(UUID... usuarios) {
+        var ids = Set.of(usuarios);
+        return events.stream(TaskOverdueEvent.class)
+            .filter(evento -> ids.contains(evento.idUser()))
+            .map(TaskOverdueEvent::id)
+            .collect(Collectors.toSet());
+    }
+
+    private static TaskModel novaTarefa(UUID idUser, String nome, LocalDate data) throws Exception {
+        var task = new TaskModel();
+        task.setIdUser(idUser);
+        task.setNome(nome);
+        task.setPrioridade(Priority.MEDIA);
+        task.setDataPrevistaConclusao(data);
+        return task;
+    }
+
+    private static class Relogio extends Clock {
+
+        private volatile Instant agora;
+
+        Relogio(Instant agora) {
+            this.agora = agora;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return this.agora;
+        }
+    }
+}
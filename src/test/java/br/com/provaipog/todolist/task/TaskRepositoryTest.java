@@ -13,6 +13,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 
 @DataJpaTest
@@ -63,6 +64,13 @@ class TaskRepositoryTest {
         assertEquals(3, tasks.size());
     }
 
+    @Test
+    void testIdsAreTimeOrdered() {
+        assertEquals(7, task1.getId().version());
+        assertTrue(task1.getId().compareTo(task2.getId()) < 0);
+        assertTrue(task2.getId().compareTo(task3.getId()) < 0);
+    }
+
     @Test
     void testFindByIdUserWithFilters_AllTasks() {
         Pageable pageable = PageRequest.of(0, 10, Sort.by("nome"));
@@ -133,4 +141,42 @@ class TaskRepositoryTest {
         assertEquals(0, result.getTotalElements());
         assertTrue(result.getContent().isEmpty());
     }
+
+    @Test
+    void testFindSliceByIdUserWithFilters_HasNext() {
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("nome"));
+        Slice<TaskModel> result = taskRepository.findSliceByIdUserWithFilters(
+            userId, null, null, null, pageable);
+
+        assertEquals(2, result.getContent().size());
+        assertTrue(result.hasNext());
+
+        Slice<TaskModel> last = taskRepository.findSliceByIdUserWithFilters(
+            userId, null, null, null, result.nextPageable());
+        assertEquals(1, last.getContent().size());
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    void testCountByIdUserWithFilters() {
+        assertEquals(3, taskRepository.countByIdUserWithFilters(userId, null, null, null));
+        assertEquals(2, taskRepository.countByIdUserWithFilters(userId, "tarefa", null, null));
+        assertEquals(0, taskRepository.countByIdUserWithFilters(UUID.randomUUID(), null, null, null));
+    }
+
+    @Test
+    void testAlterarSituacao() {
+        var alterada = taskRepository.alterarSituacao(task1.getId(), userId, Situation.CONCLUIDA);
+
+        assertTrue(alterada.isPresent());
+        assertEquals(Situation.CONCLUIDA, alterada.get().getSituacao());
+        assertEquals("Tarefa 1", alterada.get().getNome());
+    }
+
+    @Test
+    void testAlterarSituacao_SameSituationOrOtherUser() {
+        assertTrue(taskRepository.alterarSituacao(task2.getId(), userId, Situation.CONCLUIDA).isEmpty());
+        assertTrue(taskRepository.alterarSituacao(task1.getId(), UUID.randomUUID(), Situation.CONCLUIDA).isEmpty());
+        assertTrue(taskRepository.alterarSituacao(UUID.randomUUID(), userId, Situation.CONCLUIDA).isEmpty());
+    }
 }
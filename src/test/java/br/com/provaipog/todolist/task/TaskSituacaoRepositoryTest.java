@@ -0,0 +1,85 @@
+package br.com.provaipog.todolist.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.provaipog.todolist.utils.JdbcStatementCounter;
+
+@SpringBootTest
+@Import(JdbcStatementCounter.class)
+class TaskSituacaoRepositoryTest {
+
+    @Autowired
+    private ITaskRepository taskRepository;
+
+    @Autowired
+    private JdbcStatementCounter statements;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testTransitionReadsThePreviousStateFromTheUpdateItself() throws Exception {
+        var task = new TaskModel();
+        task.setIdUser(UUID.randomUUID());
+        task.setNome("Uma ida ao banco");
+        task.setPrioridade(Priority.ALTA);
+        task.setDataPrevistaConclusao(LocalDate.now().plusDays(1));
+        var salva = taskRepository.save(task);
+        statements.limpar();
+
+        var alterada = taskRepository.alterarSituacao(salva.getId(), salva.getIdUser(), Situation.CONCLUIDA).orElseThrow();
+
+        assertEquals(Situation.CONCLUIDA, alterada.getSituacao());
+        // Só o UPDATE da tarefa e os MERGEs dos contadores, sem SELECT ... FOR UPDATE antes
+        assertEquals(1, statements.contar("select * from old table (update tb_tasks"));
+        assertEquals(1 + statements.contar("merge into tb_task_stats"), statements.total());
+        assertEquals(Map.of("ABERTAS", 0L, "CONCLUIDAS", 1L), jdbcTemplate.queryForMap(
+            "SELECT abertas, concluidas FROM tb_task_stats WHERE id_user = ?", salva.getIdUser()));
+        // Sem UPDATE a mais no fim da transação: a tarefa devolvida não fica no contexto de persistência
+        assertEquals(Situation.CONCLUIDA, taskRepository.findById(salva.getId()).orElseThrow().getSituacao());
+    }
+
+    @Test
+    void testConcurrentTransitionsSucceedOnlyOnce() throws Exception {
+        var task = new TaskModel();
+        task.setIdUser(UUID.randomUUID());
+        task.setNome("Concorrente");
+        task.setPrioridade(Priority.MEDIA);
+        task.setSituacao(Situation.ABERTA);
+        task.setDataPrevistaConclusao(LocalDate.now().plusDays(1));
+        var salva = taskRepository.save(task);
+
+        int threads = 8;
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            var chamadas = new ArrayList<Callable<Boolean>>();
+            for (int i = 0; i < threads; i++) {
+                chamadas.add(() -> taskRepository
+                    .alterarSituacao(salva.getId(), salva.getIdUser(), Situation.CONCLUIDA).isPresent());
+            }
+
+            long sucessos = 0;
+            for (var resultado : executor.invokeAll(chamadas)) {
+                sucessos += resultado.get() ? 1 : 0;
+            }
+
+            assertEquals(1, sucessos);
+            assertEquals(Situation.CONCLUIDA, taskRepository.findById(salva.getId()).orElseThrow().getSituacao());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package br.com.provaipog.todolist.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.provaipog.todolist.utils.JdbcStatementCounter;
+
+// Faixas de 2 usuários: o reparo dos testes passa por várias transações
+@SpringBootTest(properties = "todolist.tasks.stats.repair-batch-size=2")
+@Import(JdbcStatementCounter.class)
+class TaskStatsServiceTest {
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private ITaskRepository taskRepository;
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JdbcStatementCounter statements;
+
+    @Test
+    void testCountersFollowEveryWritePathAndMatchRepair() throws Exception {
+        var idUser = UUID.randomUUID();
+        var a = taskRepository.save(novaTarefa(idUser, "A", Priority.ALTA, 1));
+        var b = taskRepository.save(novaTarefa(idUser, "B", Priority.BAIXA, 2));
+        taskRepository.save(novaTarefa(idUser, "C", Priority.MEDIA, 3));
+
+        // PUT: prioridade e data mudam; a instância é destacada, como a do TaskCache
+        var alterada = taskRepository.findById(a.getId()).orElseThrow();
+        alterada.setPrioridade(Priority.MEDIA);
+        alterada.setDataPrevistaConclusao(LocalDate.now().plusDays(5));
+        taskRepository.save(alterada);
+
+        taskRepository.alterarSituacao(b.getId(), idUser, Situation.CONCLUIDA);
+        taskRepository.alterarSituacao(b.getId(), idUser, Situation.CONCLUIDA);
+        taskRepository.alterarSituacao(a.getId(), idUser, Situation.PENDENTE);
+        taskRepository.delete(taskRepository.findById(b.getId()).orElseThrow());
+
+        var ndjson = "{\"nome\":\"D\",\"prioridade\":\"ALTA\",\"dataPrevistaConclusao\":\"" + LocalDate.now().plusDays(1) + "\"}";
+        taskImportService.importar(idUser, TaskExportService.NDJSON,
+            new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        var stats = taskStatsService.consultar(idUser);
+        assertEquals(3, stats.getTotal());
+        assertEquals(2, stats.getPorSituacao().get(Situation.ABERTA));
+        assertEquals(1, stats.getPorSituacao().get(Situation.PENDENTE));
+        assertEquals(0, stats.getPorSituacao().get(Situation.CONCLUIDA));
+        assertEquals(2, stats.getPorPrioridade().get(Priority.MEDIA));
+        assertEquals(1, stats.getPorPrioridade().get(Priority.ALTA));
+        assertEquals(0, stats.getPorPrioridade().get(Priority.BAIXA));
+        assertEquals(0, stats.getAtrasadas());
+
+        taskStatsService.reparar();
+        assertEquals(stats, taskStatsService.consultar(idUser));
+    }
+
+    @Test
+    void testRepairFixesDriftAndCountsOverdueTasks() throws Exception {
+        var idUser = UUID.randomUUID();
+        var task = taskRepository.save(novaTarefa(idUser, "Vencida", Priority.BAIXA, 1));
+        // Escrita por fora dos listeners: os contadores ficam desatualizados até o reparo
+        jdbcTemplate.update("UPDATE tb_tasks SET data_prevista_conclusao = ?, prioridade = 'ALTA' WHERE id = ?",
+            LocalDate.now().minusDays(3), task.getId());
+
+        taskStatsService.reparar();
+
+        var stats = taskStatsService.consultar(idUser);
+        assertEquals(1, stats.getTotal());
+        assertEquals(1, stats.getPorPrioridade().get(Priority.ALTA));
+        assertEquals(1, stats.getAtrasadas());
+        assertEquals(0, taskStatsService.consultar(UUID.randomUUID()).getTotal());
+    }
+
+    @Test
+    void testUpdateAndDeleteTakeThePreviousStateFromTheLoadedTask() throws Exception {
+        var idUser = UUID.randomUUID();
+        var task = taskRepository.save(novaTarefa(idUser, "Lida", Priority.BAIXA, 1));
+        var alterada = taskRepository.findById(task.getId()).orElseThrow();
+        alterada.setPrioridade(Priority.ALTA);
+        statements.limpar();
+
+        taskRepository.save(alterada);
+        taskRepository.delete(taskRepository.findById(task.getId()).orElseThrow());
+
+        // Sem reler a tarefa com FOR UPDATE antes do UPDATE e do DELETE
+        assertEquals(0, statements.contar("select id_user, situacao"));
+        var stats = taskStatsService.consultar(idUser);
+        assertEquals(0, stats.getTotal());
+        assertEquals(0, stats.getPorPrioridade().get(Priority.ALTA));
+        assertEquals(0, stats.getPorPrioridade().get(Priority.BAIXA));
+    }
+
+    @Test
+    void testRepairRecomputesEveryUserAcrossRangesAndDropsStaleCounters() throws Exception {
+        var usuarios = new ArrayList<UUID>();
+        for (int i = 0; i < 5; i++) {
+            var idUser = UUID.randomUUID();
+            taskRepository.save(novaTarefa(idUser, "Tarefa " + i, Priority.MEDIA, 1));
+            usuarios.add(idUser);
+        }
+        // Contadores errados para todos e um usuário sem tarefas que ficou com contadores
+        jdbcTemplate.update("UPDATE tb_task_stats SET total = total + 7, media = 0");
+        var semTarefas = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO tb_task_stats (id_user, total, abertas, pendentes, concluidas, baixa, media, alta) "
+            + "VALUES (?, 3, 3, 0, 0, 3, 0, 0)", semTarefas);
+        jdbcTemplate.update("INSERT INTO tb_task_stats_vencimentos (id_user, data, quantidade) VALUES (?, ?, 3)",
+            semTarefas, LocalDate.now());
+
+        taskStatsService.reparar();
+
+        for (var idUser : usuarios) {
+            var stats = taskStatsService.consultar(idUser);
+            assertEquals(1, stats.getTotal());
+            assertEquals(1, stats.getPorPrioridade().get(Priority.MEDIA));
+        }
+        assertEquals(0, taskStatsService.consultar(semTarefas).getTotal());
+        assertEquals(0, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM tb_task_stats_vencimentos WHERE id_user = ?", Long.class, semTarefas));
+    }
+
+    @Test
+    void testConcurrentFirstWritesOfTheSameUserAndDateAllCommit() throws Exception {
+        int threads = 8;
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int rodada = 0; rodada < 5; rodada++) {
+                var idUser = UUID.randomUUID();
+                var inicio = new CountDownLatch(1);
+                var gravacoes = new ArrayList<Future<TaskModel>>();
+                for (int i = 0; i < threads; i++) {
+                    var task = novaTarefa(idUser, "Concorrente " + i, Priority.ALTA, 1);
+                    gravacoes.add(executor.submit(() -> {
+                        inicio.await();
+                        return taskRepository.save(task);
+                    }));
+                }
+                inicio.countDown();
+                for (var gravacao : gravacoes) {
+                    gravacao.get();
+                }
+
+                var stats = taskStatsService.consultar(idUser);
+                assertEquals(threads, stats.getTotal());
+                assertEquals(threads, stats.getPorPrioridade().get(Priority.ALTA));
+                assertEquals(threads, jdbcTemplate.queryForObject(
+                    "SELECT quantidade FROM tb_task_stats_vencimentos WHERE id_user = ?", Long.class, idUser));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static TaskModel novaTarefa(UUID idUser, String nome, Priority prioridade, int dias) throws Exception {
+        var task = new TaskModel();
+        task.setIdUser(idUser);
+        task.setNome(nome);
+        task.setPrioridade(prioridade);
+        task.setDataPrevistaConclusao(LocalDate.now().plusDays(dias));
+        return task;
+    }
+}
@@ -0,0 +1,154 @@
+package br.com.provaipog.todolist.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+class TaskTrigramSearchTest {
+
+    private static final List<String> NOMES = List.of(
+        "Estudar Java", "estudar SPRING boot", "Revisar PR 42", "Comprar pão", "Pagar 100% da fatura",
+        "ler_livro", "Ligação para João", "Backup C:\\dados", "abc", "ABCABC");
+
+    @Autowired
+    private ITaskRepository taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        userId = UUID.randomUUID();
+        for (String nome : NOMES) {
+            taskRepository.save(novaTarefa(userId, nome));
+        }
+        // outro usuário com os mesmos nomes não pode aparecer nos resultados
+        taskRepository.save(novaTarefa(UUID.randomUUID(), "Estudar Java"));
+        entityManager.flush();
+    }
+
+    @Test
+    void testResultsMatchPlainContainsSemantics() {
+        for (String termo : List.of("estudar", "ESTUDAR", "java", "pão", "jo", "100%", "%", "_", "r_l",
+                "abc", "bca", "C:\\d", "fatura", "inexistente", "ar ", "a")) {
+            assertEquals(buscarSemIndice(termo), buscar(termo), termo);
+            assertEquals(buscarSemIndice(termo).size(),
+                taskRepository.countByIdUserWithFilters(userId, termo, null, null), termo);
+        }
+    }
+
+    @Test
+    void testRenameAndDeleteKeepIndexInSync() throws Exception {
+        var task = taskRepository.findByIdUser(userId).stream()
+            .filter(t -> t.getNome().equals("Comprar pão")).findFirst().orElseThrow();
+
+        task.setNome("Vender bicicleta");
+        taskRepository.save(task);
+        entityManager.flush();
+
+        assertTrue(buscar("comprar").isEmpty());
+        assertEquals(Set.of(task.getId()), buscar("bicicleta"));
+
+        taskRepository.delete(task);
+        entityManager.flush();
+
+        assertTrue(buscar("bicicleta").isEmpty());
+        assertEquals(0L, ((Number) entityManager
+            .createNativeQuery("SELECT COUNT(*) FROM tb_task_trigrams WHERE task_id = ?1")
+            .setParameter(1, task.getId()).getSingleResult()).longValue());
+    }
+
+    @Test
+    void testDetachedUpdatesRewriteTrigramsOnlyWhenTheNameChanges() throws Exception {
+        var task = taskRepository.findByIdUser(userId).stream()
+            .filter(t -> t.getNome().equals("Revisar PR 42")).findFirst().orElseThrow();
+        // Entrada a mais: some só se os trigramas da tarefa forem regravados
+        entityManager.createNativeQuery("INSERT INTO tb_task_trigrams (task_id, trigram, id_user) VALUES (?1, 'xyz', ?2)")
+            .setParameter(1, task.getId()).setParameter(2, userId).executeUpdate();
+        entityManager.clear();
+
+        // Como no PUT: a tarefa chega desanexada e o save faz merge
+        task.setDescricao("Só a descrição");
+        task = taskRepository.save(task);
+        entityManager.flush();
+        assertEquals(1, trigramas(task.getId(), "xyz"));
+
+        entityManager.clear();
+        task.setNome("Revisão do PR 42");
+        taskRepository.save(task);
+        entityManager.flush();
+        assertEquals(0, trigramas(task.getId(), "xyz"));
+        assertEquals(Set.of(task.getId()), buscar("revisão"));
+    }
+
+    @Test
+    void testSpecificationUsesSameSemantics() {
+        var spec = TaskSpecifications.comFiltros(userId, "ESTUDAR", null, null);
+
+        var ids = taskRepository.findAll(spec).stream().map(TaskModel::getId).collect(Collectors.toSet());
+
+        assertEquals(buscarSemIndice("ESTUDAR"), ids);
+    }
+
+    @Test
+    void testNameFilterPlanUsesTrigramIndex() {
+        // Mesmo formato do SQL gerado para ITaskRepository.FILTROS_TRIGRAMAS
+        var plano = entityManager.createNativeQuery("EXPLAIN SELECT * FROM tb_tasks t WHERE t.id IN "
+                + "(SELECT g.task_id FROM tb_task_trigrams g WHERE g.trigram IN (?2, ?3, ?4) "
+                + "AND g.id_user = ?1 GROUP BY g.task_id HAVING COUNT(g.trigram) = ?5) "
+                + "AND t.id_user = ?1 AND LOWER(t.nome) LIKE LOWER('%' || ?6 || '%') "
+                + "AND (?7 IS NULL OR t.prioridade = ?7) ORDER BY t.nome, t.id FETCH FIRST 10 ROWS ONLY")
+            .setParameter(1, userId).setParameter(2, "est").setParameter(3, "stu").setParameter(4, "tud")
+            .setParameter(5, 3L).setParameter(6, "estud").setParameter(7, null)
+            .getSingleResult().toString();
+
+        assertTrue(plano.contains("PRIMARY_KEY"), plano);
+        assertTrue(plano.contains("IDX_TRIGRAMS_TRIGRAMA_USUARIO: TRIGRAM IN"), plano);
+    }
+
+    private long trigramas(UUID idTask, String trigrama) {
+        return ((Number) entityManager
+            .createNativeQuery("SELECT COUNT(*) FROM tb_task_trigrams WHERE task_id = ?1 AND trigram = ?2")
+            .setParameter(1, idTask).setParameter(2, trigrama).getSingleResult()).longValue();
+    }
+
+    private Set<UUID> buscar(String termo) {
+        return taskRepository.findByIdUserWithFilters(userId, termo, null, null, PageRequest.of(0, 100, Sort.by("nome")))
+            .getContent().stream().map(TaskModel::getId).collect(Collectors.toSet());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<UUID> buscarSemIndice(String termo) {
+        List<UUID> ids = entityManager.createQuery("SELECT t.id FROM tb_tasks t WHERE t.idUser = :idUser "
+                + "AND LOWER(t.nome) LIKE LOWER(CONCAT('%', :nome, '%'))")
+            .setParameter("idUser", userId).setParameter("nome", termo).getResultList();
+        return new HashSet<>(ids);
+    }
+
+    private static TaskModel novaTarefa(UUID idUser, String nome) throws Exception {
+        var task = new TaskModel();
+        task.setIdUser(idUser);
+        task.setNome(nome);
+        task.setPrioridade(Priority.MEDIA);
+        task.setSituacao(Situation.ABERTA);
+        task.setDataPrevistaConclusao(LocalDate.now().plusDays(1));
+        return task;
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.provaipog.todolist.user;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import at.favre.lib.crypto.bcrypt.BCrypt;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PasswordHasher passwordHasher = new PasswordHasher(1, 1, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void testHashIsVerifiable() throws Exception {
+        var hash = passwordHasher.hash("senha123").get();
+
+        assertTrue(BCrypt.verifyer().verify("senha123".toCharArray(), hash).verified);
+        var bcrypt = meterRegistry.get("todolist.bcrypt").tag("operation", "hash").timer();
+        var latencia = meterRegistry.get("todolist.bcrypt.latency").tag("operation", "hash").timer();
+        assertEquals(1, latencia.count());
+        assertTrue(latencia.totalTime(TimeUnit.NANOSECONDS) >= bcrypt.totalTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    void testLatencyIncludesTheWaitInTheQueue() throws Exception {
+        var primeiro = passwordHasher.hash("a");
+        var segundo = passwordHasher.hash("b");
+        primeiro.get();
+        segundo.get();
+
+        // O segundo esperou o primeiro inteiro na fila
+        var hash = meterRegistry.get("todolist.bcrypt").tag("operation", "hash").timer();
+        var latencia = meterRegistry.get("todolist.bcrypt.latency").tag("operation", "hash").timer();
+        assertTrue(latencia.max(TimeUnit.NANOSECONDS) > hash.max(TimeUnit.NANOSECONDS));
+        assertTrue(meterRegistry.get("executor.idle").tag("name", "password-hasher").timer().max(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    void testRejectsWhenQueueIsFull() {
+        var running = passwordHasher.hash("a");
+        var queued = passwordHasher.hash("b");
+
+        assertThrows(RejectedExecutionException.class, () -> passwordHasher.hash("c"));
+
+        running.join();
+        queued.join();
+    }
+}
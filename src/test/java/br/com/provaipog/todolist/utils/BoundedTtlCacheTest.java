@@ -0,0 +1,56 @@
+package br.com.provaipog.todolist.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedTtlCacheTest {
+
+    @Test
+    void testGetCountsHitsAndMisses() {
+        var cache = new BoundedTtlCache<String, Integer>(10, Duration.ofMinutes(1));
+        cache.put("a", 1);
+
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedWhenFull() {
+        var cache = new BoundedTtlCache<String, Integer>(2, Duration.ofMinutes(1));
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.put("c", 3);
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.get("a"));
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    void testExpiredEntriesAreNotReturned() throws InterruptedException {
+        var cache = new BoundedTtlCache<String, Integer>(10, Duration.ofMillis(1));
+        cache.put("a", 1);
+        Thread.sleep(5);
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testRemoveIf() {
+        var cache = new BoundedTtlCache<String, Integer>(10, Duration.ofMinutes(1));
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.removeIf((key, value) -> value == 2);
+
+        assertEquals(1, cache.size());
+        assertNull(cache.get("b"));
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.provaipog.todolist.utils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Conta as idas ao banco no nível JDBC, abaixo do Hibernate e do JdbcTemplate: cada
+ * chamada execute, executeQuery, executeUpdate ou executeBatch no DataSource da aplicação
+ * é registrada com o SQL do statement (um executeBatch conta uma vez, qualquer que seja o
+ * tamanho do batch). Use com {@code @Import(JdbcStatementCounter.class)}.
+ */
+@TestConfiguration
+public class JdbcStatementCounter implements BeanPostProcessor {
+
+    private final List<String> execucoes = new ArrayList<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return contar(super.getConnection());
+                }
+
+                @Override
+                public Connection getConnection(String username, String password) throws SQLException {
+                    return contar(super.getConnection(username, password));
+                }
+            };
+        }
+        return bean;
+    }
+
+    public synchronized void limpar() {
+        this.execucoes.clear();
+    }
+
+    /** Execuções desde o último {@link #limpar()}. */
+    public synchronized int total() {
+        return this.execucoes.size();
+    }
+
+    /** Execuções cujo SQL começa com {@code inicio} (sem diferenciar maiúsculas). */
+    public synchronized int contar(String inicio) {
+        var prefixo = inicio.toLowerCase(Locale.ROOT);
+        return (int) this.execucoes.stream().filter(sql -> sql.startsWith(prefixo)).count();
+    }
+
+    private synchronized void registrar(String sql) {
+        this.execucoes.add(sql == null ? "" : sql.strip().toLowerCase(Locale.ROOT));
+    }
+
+    private Connection contar(Connection conexao) {
+        return proxy(Connection.class, (proxy, metodo, args) -> {
+            var resultado = invocar(conexao, metodo, args);
+            if (resultado instanceof Statement statement && metodo.getReturnType().isInterface()) {
+                // prepareStatement e prepareCall trazem o SQL; createStatement o recebe na execução
+                var sql = metodo.getName().startsWith("prepare") ? (String) args[0] : null;
+                return contar(metodo.getReturnType(), statement, sql);
+            }
+            return resultado;
+        });
+    }
+
+    private <S> S contar(Class<S> tipo, Statement statement, String sqlPreparado) {
+        return proxy(tipo, (proxy, metodo, args) -> {
+            if (metodo.getName().startsWith("execute")) {
+                registrar(args != null && args.length > 0 && args[0] instanceof String sql ? sql : sqlPreparado);
+            }
+            return invocar(statement, metodo, args);
+        });
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static <T> T proxy(Class<T> tipo, InvocationHandler handler) {
+        return tipo.cast(Proxy.newProxyInstance(JdbcStatementCounter.class.getClassLoader(), new Class<?>[] { tipo }, handler));
+    }
+}
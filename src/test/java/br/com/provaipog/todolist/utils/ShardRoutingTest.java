@@ -0,0 +1,50 @@
+package br.com.provaipog.todolist.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class ShardRoutingTest {
+
+    @Test
+    void testSpreadsUsersAndAddingAShardOnlyMovesUsersToIt() {
+        var tres = new ShardRouting(List.of("shard-0", "shard-1", "shard-2"));
+        var quatro = new ShardRouting(List.of("shard-0", "shard-1", "shard-2", "shard-3"));
+        var porShard = new HashMap<String, Integer>();
+        int usuarios = 30_000;
+        int movidos = 0;
+        for (int i = 0; i < usuarios; i++) {
+            var idUser = UUID.randomUUID();
+            var antes = tres.shard(idUser);
+            porShard.merge(antes, 1, Integer::sum);
+            assertEquals(antes, tres.shard(idUser));
+            var depois = quatro.shard(idUser);
+            if (!depois.equals(antes)) {
+                assertEquals("shard-3", depois);
+                movidos++;
+            }
+        }
+        for (var quantidade : porShard.values()) {
+            assertTrue(quantidade > usuarios / 3 * 0.8 && quantidade < usuarios / 3 * 1.2, porShard.toString());
+        }
+        assertTrue(movidos > usuarios / 4 * 0.8 && movidos < usuarios / 4 * 1.2, "movidos: " + movidos);
+    }
+
+    @Test
+    void testFixedShardWinsAndRestoresThePreviousOne() {
+        var routing = new ShardRouting(List.of("shard-0", "shard-1"));
+        assertEquals("shard-0", routing.atual());
+        routing.noShard("shard-1", () -> {
+            assertEquals("shard-1", routing.atual());
+            assertEquals("shard-0", routing.noShard("shard-0", routing::atual));
+            assertEquals("shard-1", routing.atual());
+            return null;
+        });
+        assertEquals("shard-0", routing.atual());
+        assertThrows(IllegalArgumentException.class, () -> routing.noShard("shard-9", () -> null));
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.provaipog.todolist.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+    private static final long INICIO = 1_700_000_000_123L;
+    private static final long TICK = 1000;
+
+    @Test
+    void testItemsExpireWithinOneTickAfterTheirDeadlineAcrossLevels() {
+        var roda = new TimingWheel<Integer, Integer>(TICK, 64, INICIO);
+        var aleatorio = new Random(42);
+        var prazos = new HashMap<Integer, Long>();
+        // De 1 s a 3 dias: níveis de 1 s, 64 s, ~68 min e ~3 dias
+        for (int i = 0; i < 20_000; i++) {
+            long prazo = INICIO + 1 + (long) (aleatorio.nextDouble() * 3 * 24 * 3600 * 1000);
+            prazos.put(i, prazo);
+            roda.agendar(i, i, prazo);
+        }
+        for (int i = 0; i < 20_000; i += 2) {
+            assertTrue(roda.cancelar(i));
+            prazos.remove(i);
+        }
+        assertEquals(10_000, roda.tamanho());
+
+        // Passos irregulares, inclusive longos sem nada a fazer
+        for (long agora = INICIO; !prazos.isEmpty(); agora += 1 + aleatorio.nextInt(30_000)) {
+            for (var chave : roda.avancar(agora)) {
+                long prazo = prazos.remove(chave);
+                assertTrue(prazo <= agora, "venceu antes do prazo");
+                assertTrue(agora - prazo < TICK + 30_000, "venceu com atraso");
+            }
+        }
+        assertEquals(0, roda.tamanho());
+    }
+
+    @Test
+    void testRescheduleReplacesAndPastDeadlinesFireOnNextAdvance() {
+        var roda = new TimingWheel<String, String>(TICK, 8, INICIO);
+        roda.agendar("a", "a1", INICIO + 5_000);
+        roda.agendar("a", "a2", INICIO + 500_000);
+        roda.agendar("b", "b", INICIO - 5_000);
+
+        assertEquals(List.of("b"), roda.avancar(INICIO));
+        assertEquals(List.of(), roda.avancar(INICIO + 499_999));
+        assertEquals(List.of("a2"), roda.avancar(INICIO + 501_000));
+        assertFalse(roda.cancelar("a"));
+        assertEquals(List.of(), roda.avancar(Long.MAX_VALUE / 2));
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.provaipog.todolist.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.provaipog.todolist.task.Priority;
+import br.com.provaipog.todolist.task.Situation;
+import br.com.provaipog.todolist.task.TaskModel;
+
+class UtilsTest {
+
+    @Test
+    void testCopiesOnlyNonNullProperties() throws Exception {
+        var task = new TaskModel();
+        task.setId(UUID.randomUUID());
+        task.setNome("Original");
+        task.setDescricao("Descrição original");
+        task.setPrioridade(Priority.BAIXA);
+        task.setDataPrevistaConclusao(LocalDate.now().plusDays(1));
+
+        var alteracao = new TaskModel();
+        alteracao.setNome("Alterada");
+        alteracao.setPrioridade(Priority.ALTA);
+        alteracao.setSituacao(null);
+
+        Utils.copyNonNullProperties(alteracao, task);
+
+        assertEquals("Alterada", task.getNome());
+        assertEquals(Priority.ALTA, task.getPrioridade());
+        assertEquals("Descrição original", task.getDescricao());
+        assertEquals(Situation.ABERTA, task.getSituacao());
+        assertNotNull(task.getId());
+    }
+
+    @Test
+    void testSetterValidationStillApplies() {
+        var origem = new Validado();
+        origem.valor = "";
+
+        var erro = assertThrows(IllegalArgumentException.class,
+            () -> Utils.copyNonNullProperties(origem, new Validado()));
+        assertEquals("Valor vazio", erro.getMessage());
+    }
+
+    @Test
+    void testRejectsIncompatibleTarget() {
+        assertThrows(IllegalArgumentException.class,
+            () -> Utils.copyNonNullProperties(new Validado(), new TaskModel()));
+    }
+
+    public static class Validado {
+        private String valor;
+
+        public String getValor() {
+            return valor;
+        }
+
+        public void setValor(String valor) throws Exception {
+            if (valor.isEmpty()) {
+                throw new Exception("Valor vazio");
+            }
+            this.valor = valor;
+        }
+    }
+}
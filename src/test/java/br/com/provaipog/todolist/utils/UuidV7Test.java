@@ -0,0 +1,72 @@
+package br.com.provaipog.todolist.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class UuidV7Test {
+
+    @Test
+    void testLayoutAndMonotonicWithinTheSameMillisecondAndWhenTheClockGoesBack() {
+        var relogio = new AtomicLong(1_700_000_000_000L);
+        var gerador = new UuidV7(relogio::get);
+        UUID anterior = null;
+        for (int i = 0; i < 10_000; i++) {
+            if (i == 5_000) {
+                relogio.addAndGet(-60_000);
+            }
+            var id = gerador.proximo();
+            assertEquals(7, id.version());
+            assertEquals(2, id.variant());
+            if (anterior != null) {
+                assertTrue(id.compareTo(anterior) > 0, id + " <= " + anterior);
+            }
+            anterior = id;
+        }
+        // 10k ids no mesmo milissegundo: o contador de 12 bits transborda para o milissegundo
+        assertEquals(1_700_000_000_000L + 10_000 / 4096, anterior.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    void testConcurrentThreadsNeverRepeatAndEachSeesIncreasingIds() throws Exception {
+        var gerador = new UuidV7(System::currentTimeMillis);
+        var inicio = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            var porThread = new ArrayList<Future<List<UUID>>>();
+            for (int t = 0; t < 8; t++) {
+                porThread.add(executor.submit(() -> {
+                    inicio.await();
+                    var meus = new ArrayList<UUID>();
+                    for (int i = 0; i < 20_000; i++) {
+                        meus.add(gerador.proximo());
+                    }
+                    return meus;
+                }));
+            }
+            inicio.countDown();
+            var sequencias = new HashSet<Long>();
+            for (var futuro : porThread) {
+                var meus = futuro.get();
+                for (int i = 0; i < meus.size(); i++) {
+                    assertTrue(i == 0 || meus.get(i).compareTo(meus.get(i - 1)) > 0);
+                    // Milissegundo + contador é único entre as threads, não só o UUID inteiro
+                    long msb = meus.get(i).getMostSignificantBits();
+                    assertTrue(sequencias.add((msb >>> 16) << 12 | (msb & 0xFFF)));
+                }
+            }
+            assertEquals(8 * 20_000, sequencias.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}